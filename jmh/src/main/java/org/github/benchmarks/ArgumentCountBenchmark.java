@@ -0,0 +1,71 @@
+package org.github.benchmarks;
+
+import org.github.InternalFire;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per call as the number of arguments grows, as when {@code xargs} passes a generated list. Every value is a
+ * repeated {@code --values=n} that accumulates into one array, so parsing should stay linear: the time per argument
+ * ought to be about the same at every size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgumentCountBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int arguments;
+
+    private final Target target = new Target();
+    private final InternalFire fire = new InternalFire(new HashMap<>());
+    private String[] repeated;
+    private String[] commaSeparated;
+
+    @Setup
+    public void setUp() {
+        repeated = new String[arguments + 1];
+        repeated[0] = "sum";
+        for (int i = 1; i < repeated.length; i++) {
+            repeated[i] = "--values=" + i;
+        }
+        commaSeparated = new String[]{"sum", joined(arguments)};
+    }
+
+    private static String joined(int count) {
+        final StringBuilder reply = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            reply.append(i == 1 ? "" : ",").append(i);
+        }
+        return reply.toString();
+    }
+
+    @Benchmark
+    public long repeatedFlags() {
+        fire.fire(target, repeated);
+        return target.total;
+    }
+
+    @Benchmark
+    public long oneCommaSeparatedValue() {
+        fire.fire(target, commaSeparated);
+        return target.total;
+    }
+
+    public static class Target {
+        long total;
+
+        public void sum(long[] values) {
+            long reply = 0;
+            for (long value : values) {
+                reply += value;
+            }
+            total = reply;
+        }
+    }
+}
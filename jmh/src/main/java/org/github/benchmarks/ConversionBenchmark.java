@@ -0,0 +1,80 @@
+package org.github.benchmarks;
+
+import org.github.converter.Converter;
+import org.github.converter.TypeConverter;
+import org.github.converter.Types;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting one parameter value with {@link Converter}: primitives without boxing, boxed values, a registered custom
+ * converter and the converters built for enums, records and generic collections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+    private static final Type LIST_OF_INTEGERS = Types.parameterized(List.class, Integer.class);
+
+    private final Converter converter = new Converter(Map.of(Point.class, ConversionBenchmark::point));
+    private TypeConverter listOfIntegers;
+
+    @Setup
+    public void setUp() {
+        listOfIntegers = converter.converterFor(LIST_OF_INTEGERS);
+    }
+
+    private static Point point(String value) {
+        final int colon = value.indexOf(':');
+        return new Point(Integer.parseInt(value.substring(0, colon)), Integer.parseInt(value.substring(colon + 1)));
+    }
+
+    @Benchmark
+    public int primitiveInt() {
+        return converter.intConverter().convert("123456");
+    }
+
+    @Benchmark
+    public double primitiveDouble() {
+        return converter.doubleConverter().convert("1234.5678");
+    }
+
+    @Benchmark
+    public Object boxedLong() {
+        return converter.convert("1234567890123", Long.class);
+    }
+
+    @Benchmark
+    public Object custom() {
+        return converter.convert("12:34", Point.class);
+    }
+
+    @Benchmark
+    public Object enumConstant() {
+        return converter.convert("seconds", TimeUnit.class);
+    }
+
+    @Benchmark
+    public Object record() {
+        return converter.convert("12,34", Pair.class);
+    }
+
+    @Benchmark
+    public Object listOfIntegers() {
+        return listOfIntegers.convert("1,2,3,4,5,6,7,8");
+    }
+
+    public record Point(int x, int y) {
+    }
+
+    public record Pair(int left, long right) {
+    }
+}
@@ -0,0 +1,79 @@
+package org.github.benchmarks;
+
+import org.github.converter.Converter;
+import org.github.converter.TypeConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting types that are not registered through their own factories, as found by {@link Converter}, against
+ * calling the factory directly and through {@link Method#invoke}. The converters are looked up once, as
+ * {@code InternalFire} binds them once per method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactoryConversionBenchmark {
+
+    private static final String DATE = "2024-02-29";
+    private static final String ID = "123e4567-e89b-12d3-a456-426614174000";
+    private static final String AMOUNT = "1234.5678";
+
+    private final Converter converter = new Converter(new HashMap<>());
+    private TypeConverter dates;
+    private TypeConverter ids;
+    private TypeConverter amounts;
+    private Method parseDate;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        dates = converter.converterFor(LocalDate.class);
+        ids = converter.converterFor(UUID.class);
+        amounts = converter.converterFor(BigDecimal.class);
+        parseDate = LocalDate.class.getMethod("parse", CharSequence.class);
+    }
+
+    @Benchmark
+    public Object dateDirect() {
+        return LocalDate.parse(DATE);
+    }
+
+    @Benchmark
+    public Object dateFactory() {
+        return dates.convert(DATE);
+    }
+
+    @Benchmark
+    public Object dateReflective() throws ReflectiveOperationException {
+        return parseDate.invoke(null, DATE);
+    }
+
+    @Benchmark
+    public Object uuidDirect() {
+        return UUID.fromString(ID);
+    }
+
+    @Benchmark
+    public Object uuidFactory() {
+        return ids.convert(ID);
+    }
+
+    @Benchmark
+    public Object bigDecimalDirect() {
+        return new BigDecimal(AMOUNT);
+    }
+
+    @Benchmark
+    public Object bigDecimalFactory() {
+        return amounts.convert(AMOUNT);
+    }
+}
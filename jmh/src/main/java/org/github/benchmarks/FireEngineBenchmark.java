@@ -0,0 +1,58 @@
+package org.github.benchmarks;
+
+import org.github.FireEngine;
+import org.github.FireResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Commands per second through one shared {@link FireEngine}, with one thread, a few and one per core. The engine looks
+ * up resolved methods without locks, so the throughput should grow with the number of threads until the cores run out.
+ * Compare the score of each benchmark against {@link #oneThread()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FireEngineBenchmark {
+
+    private final FireEngine engine = FireEngine.builder(new Target()).build();
+
+    @State(Scope.Thread)
+    public static class Command {
+        final String[] args = {"area", "--width=12", "--height=34", "--unit=cm"};
+    }
+
+    @Benchmark
+    @Threads(1)
+    public FireResult oneThread(Command command) {
+        return engine.fire(command.args);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public FireResult twoThreads(Command command) {
+        return engine.fire(command.args);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public FireResult fourThreads(Command command) {
+        return engine.fire(command.args);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public FireResult allCores(Command command) {
+        return engine.fire(command.args);
+    }
+
+    public static class Target {
+        public String area(int width, int height, String unit) {
+            return width * height + unit;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.github.benchmarks;
+
+import org.github.Arguments;
+import org.github.InternalFire;
+import org.github.Invoker;
+import org.github.InvokerFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares calling a resolved method through {@link InvokerFactory#REFLECTIVE} and {@link InvokerFactory#METHOD_HANDLE},
+ * both on the bound invoker alone and end to end through {@link InternalFire}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokerBenchmark {
+
+    @Param({"REFLECTIVE", "METHOD_HANDLE"})
+    public String invoker;
+
+    private final Target target = new Target();
+    private final Arguments arguments = new Arguments(3);
+    private Invoker bound;
+    private InternalFire fire;
+
+    @Setup
+    public void setUp() throws Exception {
+        final InvokerFactory factory = "REFLECTIVE".equals(invoker) ? InvokerFactory.REFLECTIVE : InvokerFactory.METHOD_HANDLE;
+        bound = factory.bind(Target.class.getMethod("add", int.class, long.class, String.class));
+        fire = new InternalFire(new InternalFire.Settings().invokers(factory));
+        arguments.setInt(0, 21);
+        arguments.setLong(1, 21L);
+        arguments.set(2, "jfire");
+    }
+
+    @Benchmark
+    public Object invoke() throws Throwable {
+        return bound.invoke(target, arguments);
+    }
+
+    @Benchmark
+    public void fire() {
+        fire.fire(target, "add", "--a=21", "--b=21", "--name=jfire");
+    }
+
+    public static class Target {
+        long total;
+
+        public void add(int a, long b, String name) {
+            total += a + b + name.length();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.github.benchmarks;
+
+import org.github.InternalFire;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the method to call on a class with {@value #METHODS} public methods, most of them overloads of the same
+ * few names. Named parameters resolve with one lookup on name plus parameter names, positional values have to go
+ * through the overloads of that name to find one with the right number of parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverloadResolutionBenchmark {
+
+    static final int METHODS = 24;
+
+    private final Target target = new Target();
+    private final InternalFire fire = new InternalFire(new HashMap<>());
+    private final String[] named = {"list", "--a=1", "--b=2", "--c=3", "--d=4", "--e=5"};
+    private final String[] positional = {"list", "1", "2", "3", "4", "5"};
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void named() {
+        fire.fire(target, named);
+    }
+
+    @Benchmark
+    public void positional() {
+        fire.fire(target, positional);
+    }
+
+    public static class Target {
+        public int run(int a) {
+            return a;
+        }
+
+        public int run(int a, int b) {
+            return a + b;
+        }
+
+        public int run(int a, int b, int c) {
+            return a + b + c;
+        }
+
+        public int run(int a, int b, int c, int d) {
+            return a + b + c + d;
+        }
+
+        public int run(int a, int b, int c, int d, int e) {
+            return a + b + c + d + e;
+        }
+
+        public int run(int a, int b, int c, int d, int e, int f) {
+            return a + b + c + d + e + f;
+        }
+
+        public int run(String aa) {
+            return 1;
+        }
+
+        public int run(String aa, String bb) {
+            return 2;
+        }
+
+        public int copy(int a) {
+            return a;
+        }
+
+        public int copy(int a, int b) {
+            return a + b;
+        }
+
+        public int copy(int a, int b, int c) {
+            return a + b + c;
+        }
+
+        public int copy(int a, int b, int c, int d) {
+            return a + b + c + d;
+        }
+
+        public int copy(int a, int b, int c, int d, int e) {
+            return a + b + c + d + e;
+        }
+
+        public int copy(int a, int b, int c, int d, int e, int f) {
+            return a + b + c + d + e + f;
+        }
+
+        public int copy(String aa) {
+            return 1;
+        }
+
+        public int copy(String aa, String bb) {
+            return 2;
+        }
+
+        public int list(int a) {
+            return a;
+        }
+
+        public int list(int a, int b) {
+            return a + b;
+        }
+
+        public int list(int a, int b, int c) {
+            return a + b + c;
+        }
+
+        public int list(int a, int b, int c, int d) {
+            return a + b + c + d;
+        }
+
+        public int list(int a, int b, int c, int d, int e) {
+            return a + b + c + d + e;
+        }
+
+        public int list(int a, int b, int c, int d, int e, int f) {
+            return a + b + c + d + e + f;
+        }
+
+        public int list(String aa) {
+            return 1;
+        }
+
+        public int list(String aa, String bb) {
+            return 2;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.github.benchmarks;
+
+import org.github.converter.Converter;
+import org.github.converter.TypeConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting {@code --ids=1,2,3,...} into an {@code int[]} and a {@code long[]} with the built in converters, against
+ * the split-and-box converter that had to be registered before. Inputs of a million values are over the parallel
+ * threshold, so they are counted and parsed in chunks on the fork join pool. Compare {@code gc.alloc.rate.norm} for
+ * the memory per conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveArrayBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private final Converter builtIn = new Converter(new HashMap<>());
+    private TypeConverter splitAndBox;
+    private String ids;
+
+    @Setup
+    public void setUp() {
+        final StringBuilder reply = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                reply.append(',');
+            }
+            reply.append(1_000_000 + i * 31);
+        }
+        ids = reply.toString();
+        splitAndBox = input -> {
+            final String[] values = input.split(",");
+            final Integer[] boxed = new Integer[values.length];
+            for (int i = 0; i < values.length; i++) {
+                boxed[i] = Integer.valueOf(values[i].trim());
+            }
+            return boxed;
+        };
+    }
+
+    @Benchmark
+    public Object builtInInts() {
+        return builtIn.convert(ids, int[].class);
+    }
+
+    @Benchmark
+    public Object builtInLongs() {
+        return builtIn.convert(ids, long[].class);
+    }
+
+    @Benchmark
+    public Object splitAndBox() {
+        return splitAndBox.convert(ids);
+    }
+}
@@ -0,0 +1,47 @@
+package org.github.benchmarks;
+
+import org.github.InternalFire;
+import org.github.InvokerFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocations per call for a method taking only primitives. {@link InvokerFactory#REFLECTIVE} boxes every argument
+ * into an {@code Object[]}, {@link InvokerFactory#METHOD_HANDLE} reads them unboxed. Compare
+ * {@code gc.alloc.rate.norm} from the GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveConversionBenchmark {
+
+    @Param({"REFLECTIVE", "METHOD_HANDLE"})
+    public String invoker;
+
+    private final Target target = new Target();
+    private final String[] args = {"add", "--a=123456", "--b=1234567890123", "--c=0.25", "--d=true"};
+    private InternalFire fire;
+
+    @Setup
+    public void setUp() {
+        fire = new InternalFire(new InternalFire.Settings().invokers("REFLECTIVE".equals(invoker) ? InvokerFactory.REFLECTIVE : InvokerFactory.METHOD_HANDLE));
+    }
+
+    @Benchmark
+    public long fire() {
+        fire.fire(target, args);
+        return target.total;
+    }
+
+    public static class Target {
+        long total;
+
+        public void add(int a, long b, double c, boolean d) {
+            total += a + b + (long) c + (d ? 1 : 0);
+        }
+    }
+}
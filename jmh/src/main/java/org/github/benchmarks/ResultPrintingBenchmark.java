@@ -0,0 +1,95 @@
+package org.github.benchmarks;
+
+import org.github.InternalFire;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Printing what a command returns, for a single value and for lists, streams and arrays of a growing number of
+ * elements. {@code System.out} is swapped for a stream that throws the bytes away, so this is the cost of formatting
+ * and buffering rather than of the terminal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultPrintingBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    public int elements;
+
+    private final InternalFire fire = new InternalFire(new HashMap<>());
+    private Target target;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() {
+        target = new Target(elements);
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void scalar() {
+        fire.fire(target, "scalar");
+    }
+
+    @Benchmark
+    public void list() {
+        fire.fire(target, "list");
+    }
+
+    @Benchmark
+    public void stream() {
+        fire.fire(target, "stream");
+    }
+
+    @Benchmark
+    public void intArray() {
+        fire.fire(target, "ints");
+    }
+
+    public static class Target {
+        private final List<String> list;
+        private final int[] ints;
+
+        Target(int elements) {
+            list = new ArrayList<>(elements);
+            for (int i = 0; i < elements; i++) {
+                list.add("element " + i);
+            }
+            ints = IntStream.range(0, elements).toArray();
+        }
+
+        public String scalar() {
+            return "one line of output";
+        }
+
+        public List<String> list() {
+            return list;
+        }
+
+        public Stream<String> stream() {
+            return list.stream();
+        }
+
+        public int[] ints() {
+            return ints;
+        }
+    }
+}
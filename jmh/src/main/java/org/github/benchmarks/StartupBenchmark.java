@@ -0,0 +1,75 @@
+package org.github.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from starting a new JVM running {@code org.github.examples.Main} to the first byte of its output, with and
+ * without the class data sharing archive made by {@code ./gradlew cdsArchive}. The jmhStartup task builds the archive
+ * and passes it and the jar classpath it was trained with as the {@code jfire.cds.archive} and
+ * {@code jfire.cds.classpath} properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({"false", "true"})
+    public boolean sharedArchive;
+
+    private List<String> command;
+    private Process process;
+
+    @Setup
+    public void setUp() {
+        final String classpath = System.getProperty("jfire.cds.classpath", System.getProperty("java.class.path"));
+        command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (sharedArchive) {
+            final String archive = System.getProperty("jfire.cds.archive", "");
+            if (!Files.isRegularFile(Path.of(archive))) {
+                throw new IllegalStateException("No class data sharing archive at \"" + archive + "\", run ./gradlew :jmh:jmhStartup");
+            }
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command.add("-classpath");
+        command.add(classpath);
+        command.add("org.github.examples.Main");
+        command.add("hello");
+        command.add("--shouldPrint=true");
+        command.add("--who=startup");
+    }
+
+    @Benchmark
+    public int timeToFirstOutput() throws IOException {
+        process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .redirectInput(ProcessBuilder.Redirect.from(new File(isWindows() ? "NUL" : "/dev/null")))
+                .start();
+        return process.getInputStream().read();
+    }
+
+    @TearDown(Level.Invocation)
+    public void waitForExit() throws IOException, InterruptedException {
+        try (InputStream out = process.getInputStream()) {
+            out.transferTo(OutputStream.nullOutputStream());
+        }
+        process.waitFor();
+    }
+
+    private static boolean isWindows() {
+        return File.separatorChar == '\\';
+    }
+}
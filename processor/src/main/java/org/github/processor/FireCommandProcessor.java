@@ -0,0 +1,337 @@
+package org.github.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Generates a {@code org.github.Dispatcher} for every class annotated with {@code org.github.FireCommand}.
+ * The dispatcher switches on the method name, checks the parameter names and calls the method directly,
+ * converting each argument through {@code org.github.converter.Converter}, {@code int}, {@code long}, {@code double}
+ * and {@code boolean} ones without boxing. Classes with {@code org.github.Memoize} methods get no dispatcher, with a
+ * warning, so that they are called through reflection, which remembers their results.
+ * <p>
+ * Every annotated class is also listed in {@code META-INF/jfire/commands} as {@code name=binary class name}, written
+ * once all rounds are done, so that {@code org.github.JFire#main} only loads the class picked on the command line.
+ */
+@SupportedAnnotationTypes(FireCommandProcessor.FIRE_COMMAND)
+public class FireCommandProcessor extends AbstractProcessor {
+
+    static final String FIRE_COMMAND = "org.github.FireCommand";
+    static final String MEMOIZE = "org.github.Memoize";
+    static final String SUFFIX = "_FireDispatcher";
+    static final String REGISTRY = "META-INF/jfire/commands";
+
+    /**
+     * The parameter types converted without boxing, through {@code Dispatcher.intArgument} and the like.
+     */
+    private static final Set<TypeKind> UNBOXED = Set.of(TypeKind.INT, TypeKind.LONG, TypeKind.DOUBLE, TypeKind.BOOLEAN);
+    /**
+     * The parameter types that are closed after the call, as {@code InternalFire} closes them.
+     */
+    private static final List<String> INPUTS = List.of("java.io.InputStream", "java.io.Reader", "java.util.stream.BaseStream");
+    private static final Set<String> OBJECT_LEVEL_METHODS = Set.of("equals", "hashCode", "toString", "getClass", "notify", "notifyAll", "wait");
+
+    private final Map<String, String> commands = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.PRIVATE)) {
+                    error(element, "@FireCommand can only be used on non private classes");
+                    continue;
+                }
+                register((TypeElement) element);
+                final ExecutableElement memoized = memoized((TypeElement) element);
+                if (memoized != null) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "No dispatcher is generated, as @Memoize methods are called through reflection, which needs -parameters", memoized);
+                    continue;
+                }
+                try {
+                    generate((TypeElement) element);
+                } catch (IOException e) {
+                    error(element, "Unable to generate dispatcher: " + e.getMessage());
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !commands.isEmpty()) {
+            writeRegistry();
+        }
+        return true;
+    }
+
+    private void register(TypeElement type) {
+        final String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String name = commandName(type);
+        if (name.isEmpty()) {
+            final String simpleName = type.getSimpleName().toString();
+            name = Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+        }
+        if (name.startsWith("-") || !name.matches("[^=\\s]+")) {
+            error(type, "The command name \"" + name + "\" cannot start with '-' or contain '=' or white space");
+            return;
+        }
+        final String previous = commands.putIfAbsent(name, binaryName);
+        if (previous != null && !previous.equals(binaryName)) {
+            error(type, "The command name \"" + name + "\" is already used by " + previous);
+        }
+    }
+
+    private String commandName(TypeElement type) {
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(FIRE_COMMAND)) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : annotation.getElementValues().entrySet()) {
+                    if (value.getKey().getSimpleName().contentEquals("name")) {
+                        return value.getValue().getValue().toString();
+                    }
+                }
+            }
+        }
+        return "";
+    }
+
+    private void writeRegistry() {
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", REGISTRY).openOutputStream(), StandardCharsets.UTF_8))) {
+            out.println("# Generated by " + getClass().getName());
+            for (Map.Entry<String, String> command : commands.entrySet()) {
+                out.println(command.getKey() + "=" + command.getValue());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + REGISTRY + ": " + e.getMessage());
+        }
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        final String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        final String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        final String simpleName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1) + SUFFIX;
+        final String targetType = erasure(type.asType());
+        final List<ExecutableElement> methods = publicMethods(type);
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(binaryName + SUFFIX, type).openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("import org.github.Dispatcher;");
+            out.println("import org.github.converter.Converter;");
+            out.println("import org.github.converter.Types;");
+            out.println();
+            out.println("import java.lang.reflect.Type;");
+            out.println("import java.util.List;");
+            out.println("import java.util.Map;");
+            out.println("import java.util.Set;");
+            out.println();
+            out.println("/**");
+            out.println(" * Generated by " + getClass().getName() + " for {@link " + targetType + "}.");
+            out.println(" */");
+            out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            out.println("public final class " + simpleName + " implements Dispatcher<" + targetType + "> {");
+            out.println();
+            out.println("    private static final List<String> METHOD_NAMES = List.of(" + methodNames(methods) + ");");
+            for (int i = 0; i < methods.size(); i++) {
+                out.println("    private static final Set<String> PARAMETERS_" + i + " = Set.of(" + parameterNames(methods.get(i)) + ");");
+                final List<? extends VariableElement> parameters = methods.get(i).getParameters();
+                for (int j = 0; j < parameters.size(); j++) {
+                    final String parameterType = typeExpression(parameters.get(j).asType());
+                    if (!isClassLiteral(parameterType)) {
+                        out.println("    private static final Type TYPE_" + i + "_" + j + " = " + parameterType + ";");
+                    }
+                }
+            }
+            out.println();
+            out.println("    @Override");
+            out.println("    public List<String> methodNames() {");
+            out.println("        return METHOD_NAMES;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public boolean accepts(String methodName, Set<String> parameterNames) {");
+            out.println("        switch (methodName) {");
+            for (String name : new LinkedHashSet<>(names(methods))) {
+                final StringJoiner accepted = new StringJoiner(" || ");
+                for (int i = 0; i < methods.size(); i++) {
+                    if (methods.get(i).getSimpleName().contentEquals(name)) {
+                        accepted.add("parameterNames.equals(PARAMETERS_" + i + ")");
+                    }
+                }
+                out.println("            case \"" + name + "\":");
+                out.println("                return " + accepted + ";");
+            }
+            out.println("        }");
+            out.println("        return false;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public Object dispatch(" + targetType + " target, String methodName, Map<String, String> parameters, Map<String, List<String>> repeated, "
+                    + "Converter converter, List<AutoCloseable> opened) throws Throwable {");
+            out.println("        final Set<String> names = parameters.keySet();");
+            out.println("        switch (methodName) {");
+            for (String name : new LinkedHashSet<>(names(methods))) {
+                out.println("            case \"" + name + "\":");
+                for (int i = 0; i < methods.size(); i++) {
+                    final ExecutableElement method = methods.get(i);
+                    if (method.getSimpleName().contentEquals(name)) {
+                        writeCall(out, targetType, method, i);
+                    }
+                }
+                out.println("                break;");
+            }
+            out.println("        }");
+            out.println("        return NOT_FOUND;");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void writeCall(PrintWriter out, String targetType, ExecutableElement method, int index) {
+        final String receiver = method.getModifiers().contains(Modifier.STATIC) ? targetType : "target";
+        final StringBuilder call = new StringBuilder(receiver).append('.').append(method.getSimpleName()).append('(');
+        final List<? extends VariableElement> parameters = method.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            final TypeMirror parameterType = parameters.get(i).asType();
+            final String erasure = erasure(parameterType);
+            if (i > 0) {
+                call.append(", ");
+            }
+            if (UNBOXED.contains(parameterType.getKind())) {
+                call.append("Dispatcher.").append(erasure).append("Argument(converter, parameters, repeated, \"")
+                        .append(parameters.get(i).getSimpleName()).append("\")");
+                continue;
+            }
+            final String type = typeExpression(parameterType);
+            final boolean input = isInput(parameterType);
+            call.append('(').append(erasure).append(input ? ") Dispatcher.input(" : ") Dispatcher.argument(")
+                    .append("converter, parameters, repeated, \"").append(parameters.get(i).getSimpleName()).append("\", ")
+                    .append(isClassLiteral(type) ? type : "TYPE_" + index + "_" + i).append(input ? ", opened)" : ")");
+        }
+        call.append(')');
+        out.println("                if (names.equals(PARAMETERS_" + index + ")) {");
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            out.println("                    " + call + ";");
+            out.println("                    return NO_RESULT;");
+        } else {
+            out.println("                    return " + call + ";");
+        }
+        out.println("                }");
+    }
+
+    /**
+     * Whether a parameter may be opened from {@code @file} or stdin, so the dispatcher hands it back to be closed.
+     */
+    private boolean isInput(TypeMirror type) {
+        final Types types = processingEnv.getTypeUtils();
+        for (String input : INPUTS) {
+            final TypeElement element = processingEnv.getElementUtils().getTypeElement(input);
+            if (element != null && types.isAssignable(types.erasure(type), types.erasure(element.asType()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The source for the {@code java.lang.reflect.Type} of a parameter, so generic element types survive
+     * without reading them back through reflection.
+     */
+    private String typeExpression(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            final String component = typeExpression(((ArrayType) type).getComponentType());
+            return isClassLiteral(component) ? erasure(type) + ".class" : "Types.arrayOf(" + component + ")";
+        }
+        if (type.getKind() == TypeKind.WILDCARD) {
+            final TypeMirror bound = ((WildcardType) type).getExtendsBound();
+            return bound == null ? "Object.class" : typeExpression(bound);
+        }
+        if (type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty()) {
+            final StringBuilder reply = new StringBuilder("Types.parameterized(").append(erasure(type)).append(".class");
+            for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+                reply.append(", ").append(typeExpression(argument));
+            }
+            return reply.append(')').toString();
+        }
+        return erasure(type) + ".class";
+    }
+
+    private boolean isClassLiteral(String typeExpression) {
+        return !typeExpression.startsWith("Types.");
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private List<ExecutableElement> publicMethods(TypeElement type) {
+        final List<ExecutableElement> reply = new ArrayList<>();
+        for (Element member : processingEnv.getElementUtils().getAllMembers(type)) {
+            if (member.getKind() == ElementKind.METHOD
+                    && member.getModifiers().contains(Modifier.PUBLIC)
+                    && !OBJECT_LEVEL_METHODS.contains(member.getSimpleName().toString())) {
+                reply.add((ExecutableElement) member);
+            }
+        }
+        return reply;
+    }
+
+    private ExecutableElement memoized(TypeElement type) {
+        for (ExecutableElement method : publicMethods(type)) {
+            for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+                if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(MEMOIZE)) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<String> names(List<ExecutableElement> methods) {
+        final List<String> reply = new ArrayList<>();
+        for (ExecutableElement method : methods) {
+            reply.add(method.getSimpleName().toString());
+        }
+        return reply;
+    }
+
+    private String methodNames(List<ExecutableElement> methods) {
+        return quoted(names(methods));
+    }
+
+    private String parameterNames(ExecutableElement method) {
+        final List<String> reply = new ArrayList<>();
+        for (VariableElement parameter : method.getParameters()) {
+            reply.add(parameter.getSimpleName().toString());
+        }
+        return quoted(reply);
+    }
+
+    private String quoted(List<String> values) {
+        final StringJoiner reply = new StringJoiner(", ");
+        for (String value : values) {
+            reply.add('"' + value + '"');
+        }
+        return reply.toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,82 @@
+package org.github;
+
+/**
+ * The converted arguments of one call. {@code int}, {@code long}, {@code double} and {@code boolean} parameters are
+ * held unboxed, every other parameter is held as a reference.
+ */
+public final class Arguments {
+
+    private final long[] primitives;
+    private final Object[] references;
+
+    public Arguments(int size) {
+        primitives = new long[size];
+        references = new Object[size];
+    }
+
+    public int size() {
+        return references.length;
+    }
+
+    public void setInt(int index, int value) {
+        primitives[index] = value;
+    }
+
+    public void setLong(int index, long value) {
+        primitives[index] = value;
+    }
+
+    public void setDouble(int index, double value) {
+        primitives[index] = Double.doubleToRawLongBits(value);
+    }
+
+    public void setBoolean(int index, boolean value) {
+        primitives[index] = value ? 1 : 0;
+    }
+
+    public void set(int index, Object value) {
+        references[index] = value;
+    }
+
+    public int getInt(int index) {
+        return (int) primitives[index];
+    }
+
+    public long getLong(int index) {
+        return primitives[index];
+    }
+
+    public double getDouble(int index) {
+        return Double.longBitsToDouble(primitives[index]);
+    }
+
+    public boolean getBoolean(int index) {
+        return primitives[index] != 0;
+    }
+
+    public Object get(int index) {
+        return references[index];
+    }
+
+    /**
+     * Boxes every argument, for calls that need an {@code Object[]}.
+     */
+    public Object[] toArray(Class<?>[] types) {
+        final Object[] reply = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            final Class<?> type = types[i];
+            if (type == int.class) {
+                reply[i] = getInt(i);
+            } else if (type == long.class) {
+                reply[i] = getLong(i);
+            } else if (type == double.class) {
+                reply[i] = getDouble(i);
+            } else if (type == boolean.class) {
+                reply[i] = getBoolean(i);
+            } else {
+                reply[i] = get(i);
+            }
+        }
+        return reply;
+    }
+}
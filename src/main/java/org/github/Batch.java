@@ -0,0 +1,208 @@
+package org.github;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs newline delimited command lines against one target, reusing a single {@link InternalFire}.
+ * Each line uses the same {@code method --name=value} syntax as the command line, with shell style quoting.
+ * Blank lines and lines starting with {@code #} are skipped. A failing line is reported and the batch carries on.
+ * <p>
+ * A batch can also be {@link #validate validated} first: every line is checked without calling anything, in parallel,
+ * and the problems are reported by line number.
+ */
+public final class Batch {
+
+    /**
+     * Lines are checked in runs of this many, so that each task does enough work to be worth handing to a thread.
+     */
+    private static final int LINES_PER_TASK = 256;
+
+    private final InternalFire fire;
+    private final PrintStream report;
+
+    public Batch(InternalFire fire, PrintStream report) {
+        this.fire = fire;
+        this.report = report;
+    }
+
+    public Report run(Object toRun, BufferedReader lines) throws IOException {
+        int lineNumber = 0;
+        int succeeded = 0;
+        int failed = 0;
+        final long start = System.nanoTime();
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            final String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            try {
+                fire.fire(toRun, split(trimmed));
+                succeeded++;
+                report.println("line " + lineNumber + ": ok");
+            } catch (Exception e) {
+                failed++;
+                report.println("line " + lineNumber + ": failed: " + (e.getMessage() == null ? e : e.getMessage()));
+            }
+        }
+        final Report reply = new Report(succeeded, failed, System.nanoTime() - start);
+        report.println(reply);
+        return reply;
+    }
+
+    /**
+     * Checks every line as {@link InternalFire#validate} does, on up to {@code parallelism} threads, and reports the
+     * problems in line order. Nothing is called, so a batch can be checked before any of it runs.
+     */
+    public Validation validate(Object toRun, BufferedReader lines, int parallelism) throws IOException, InterruptedException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, but was " + parallelism);
+        }
+        final long start = System.nanoTime();
+        final List<String> commands = new ArrayList<>();
+        final List<Integer> lineNumbers = new ArrayList<>();
+        int lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            final String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                commands.add(trimmed);
+                lineNumbers.add(lineNumber);
+            }
+        }
+        final int tasks = (commands.size() + LINES_PER_TASK - 1) / LINES_PER_TASK;
+        final List<Diagnostic> diagnostics = new ArrayList<>();
+        if (parallelism == 1 || tasks <= 1) {
+            diagnostics.addAll(validate(toRun, commands, lineNumbers, 0, commands.size()));
+        } else {
+            final ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, tasks));
+            try {
+                final List<Future<List<Diagnostic>>> results = new ArrayList<>(tasks);
+                for (int from = 0; from < commands.size(); from += LINES_PER_TASK) {
+                    final int first = from;
+                    final int last = Math.min(commands.size(), from + LINES_PER_TASK);
+                    results.add(pool.submit(() -> validate(toRun, commands, lineNumbers, first, last)));
+                }
+                for (Future<List<Diagnostic>> result : results) {
+                    diagnostics.addAll(result.get());
+                }
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        for (Diagnostic diagnostic : diagnostics) {
+            report.println(diagnostic);
+        }
+        final Validation reply = new Validation(commands.size(), Collections.unmodifiableList(diagnostics), System.nanoTime() - start);
+        report.println(reply);
+        return reply;
+    }
+
+    private List<Diagnostic> validate(Object toRun, List<String> commands, List<Integer> lineNumbers, int from, int to) {
+        final List<Diagnostic> reply = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            final String[] args = tokens(commands.get(i));
+            if (args == null) {
+                reply.add(new Diagnostic(lineNumbers.get(i), "Unterminated quote in: " + commands.get(i), List.of()));
+            } else {
+                reply.addAll(fire.validate(lineNumbers.get(i), toRun, args));
+            }
+        }
+        return reply;
+    }
+
+    static String[] split(String line) {
+        final String[] reply = tokens(line);
+        if (reply == null) {
+            throw new IllegalArgumentException("Unterminated quote in: " + line);
+        }
+        return reply;
+    }
+
+    /**
+     * Splits a line into arguments, or returns null when a quote is not closed.
+     */
+    private static String[] tokens(String line) {
+        final List<String> reply = new ArrayList<>();
+        final StringBuilder current = new StringBuilder();
+        boolean inToken = false;
+        char quote = 0;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else if (c == '\\' && quote == '"' && i + 1 < line.length()) {
+                    current.append(line.charAt(++i));
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+                inToken = true;
+            } else if (c == '\\' && i + 1 < line.length()) {
+                current.append(line.charAt(++i));
+                inToken = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inToken) {
+                    reply.add(current.toString());
+                    current.setLength(0);
+                    inToken = false;
+                }
+            } else {
+                current.append(c);
+                inToken = true;
+            }
+        }
+        if (quote != 0) {
+            return null;
+        }
+        if (inToken) {
+            reply.add(current.toString());
+        }
+        return reply.toArray(new String[0]);
+    }
+
+    /**
+     * @param checked     how many commands were checked, not counting blank lines and comments
+     * @param diagnostics the problems found, in line order; empty when every command would run
+     */
+    public record Validation(int checked, List<Diagnostic> diagnostics, long elapsedNanos) {
+
+        public boolean valid() {
+            return diagnostics.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Checked %d commands, found %d problems in %d ms", checked, diagnostics.size(), elapsedNanos / 1_000_000);
+        }
+    }
+
+    public record Report(int succeeded, int failed, long elapsedNanos) {
+
+        public double commandsPerSecond() {
+            final int total = succeeded + failed;
+            return elapsedNanos == 0 ? 0 : total * 1_000_000_000d / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Ran %d commands (%d ok, %d failed) in %d ms, %.0f commands/s",
+                    succeeded + failed, succeeded, failed, elapsedNanos / 1_000_000, commandsPerSecond());
+        }
+    }
+}
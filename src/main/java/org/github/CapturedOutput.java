@@ -0,0 +1,46 @@
+package org.github;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.Callable;
+
+/**
+ * Collects what each task prints to {@code System.out} separately, so tasks can run side by side and their output be
+ * written out whole afterwards. {@code System.out} is restored on {@link #close()}.
+ */
+final class CapturedOutput implements AutoCloseable {
+
+    private final PrintStream originalOut = System.out;
+    private final RoutingOutputStream routing = new RoutingOutputStream(originalOut);
+    private final PrintStream routedOut = new PrintStream(routing, true);
+
+    CapturedOutput() {
+        System.setOut(routedOut);
+    }
+
+    Callable<byte[]> capture(Runnable task) {
+        return () -> {
+            final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+            routing.route(printed);
+            try {
+                task.run();
+            } finally {
+                System.out.flush();
+                routing.route(null);
+            }
+            return printed.toByteArray();
+        };
+    }
+
+    void write(byte[] output) {
+        originalOut.write(output, 0, output.length);
+        originalOut.flush();
+    }
+
+    @Override
+    public void close() {
+        if (System.out == routedOut) {
+            System.setOut(originalOut);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.github;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+
+final class Command {
+
+    private final Method method;
+    private final String[] parameterNames;
+    private final Class<?>[] parameterTypes;
+    private final Type[] genericParameterTypes;
+
+    Command(Method method) {
+        this.method = method;
+        final Parameter[] parameters = method.getParameters();
+        parameterNames = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            parameterNames[i] = parameters[i].getName();
+        }
+        parameterTypes = method.getParameterTypes();
+        genericParameterTypes = method.getGenericParameterTypes();
+    }
+
+    Method method() {
+        return method;
+    }
+
+    String name() {
+        return method.getName();
+    }
+
+    int parameterCount() {
+        return parameterTypes.length;
+    }
+
+    String parameterName(int index) {
+        return parameterNames[index];
+    }
+
+    Class<?> parameterType(int index) {
+        return parameterTypes[index];
+    }
+
+    Type genericParameterType(int index) {
+        return genericParameterTypes[index];
+    }
+
+    boolean returnsVoid() {
+        return method.getReturnType() == Void.TYPE;
+    }
+}
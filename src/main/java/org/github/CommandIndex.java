@@ -0,0 +1,254 @@
+package org.github;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Immutable view of the callable public methods of a class, keyed on method name plus the set of parameter names,
+ * and of its public fields, which lead on to sub commands. Built once per class and shared, so resolving a command is
+ * a single hash lookup.
+ */
+final class CommandIndex {
+
+    static final String MISSING_PARAMETER_NAMES = """
+            There are no parameter names in the compiled class files. \s
+            You need to add the following to your build.gradle file:
+            tasks.withType(JavaCompile) {
+                options.compilerArgs << '-parameters'
+            }""";
+
+    private static final Set<String> OBJECT_LEVEL_METHODS = objectLevelMethods();
+
+    private static final ClassValue<CommandIndex> INDEXES = new ClassValue<>() {
+        @Override
+        protected CommandIndex computeValue(Class<?> type) {
+            return new CommandIndex(type);
+        }
+    };
+
+    private final List<String> methodNames;
+    private final Map<Signature, Command> commands;
+    private final Map<String, List<Command>> overloads;
+    private final Set<String> methodsWithoutParameterNames;
+    private final Map<String, Field> fields;
+
+    private CommandIndex(Class<?> target) {
+        final Method[] methods = target.getMethods();
+        final List<String> names = new ArrayList<>();
+        final Map<Signature, Command> bySignature = new HashMap<>();
+        final Map<String, List<Command>> byName = new HashMap<>();
+        final Set<String> withoutParameterNames = new HashSet<>();
+        for (Method method : methods) {
+            final String name = method.getName();
+            if (OBJECT_LEVEL_METHODS.contains(name)) {
+                continue;
+            }
+            names.add(name);
+            if (!parameterNamesPresent(method)) {
+                withoutParameterNames.add(name);
+                continue;
+            }
+            final Command command = new Command(method);
+            if (bySignature.putIfAbsent(new Signature(name, parameterNames(command)), command) == null) {
+                List<Command> overloaded = byName.get(name);
+                if (overloaded == null) {
+                    overloaded = new ArrayList<>();
+                    byName.put(name, overloaded);
+                }
+                overloaded.add(command);
+            }
+        }
+        methodNames = List.copyOf(names);
+        commands = Map.copyOf(bySignature);
+        overloads = copyOf(byName);
+        methodsWithoutParameterNames = Set.copyOf(withoutParameterNames);
+        fields = fields(target);
+    }
+
+    private static Map<String, Field> fields(Class<?> target) {
+        final Map<String, Field> reply = new HashMap<>();
+        for (Field field : target.getFields()) {
+            reply.putIfAbsent(field.getName(), field);
+        }
+        return Map.copyOf(reply);
+    }
+
+    static CommandIndex of(Class<?> target) {
+        return INDEXES.get(target);
+    }
+
+    boolean isEmpty() {
+        return methodNames.isEmpty();
+    }
+
+    List<String> methodNames() {
+        return methodNames;
+    }
+
+    /**
+     * Returns null when there is no public field with that name.
+     */
+    Field field(String name) {
+        return fields.get(name);
+    }
+
+    Collection<Field> fields() {
+        return fields.values();
+    }
+
+    /**
+     * The public field called {@code name} when it leads on to a sub command, otherwise null.
+     */
+    Field subCommandField(String name) {
+        final Field reply = fields.get(name);
+        return reply != null && subCommand(reply.getGenericType()) != null ? reply : null;
+    }
+
+    /**
+     * The method without parameters called {@code name} when it leads on to a sub command, otherwise null. Methods
+     * returning plain values are left to be called as commands, so {@code deleteAll now} is never taken as calling
+     * {@code deleteAll()} to find {@code now} on its result. Unlike {@link #find}, this never throws for methods
+     * compiled without parameter names.
+     */
+    Command accessor(String name) {
+        for (Command command : overloads(name)) {
+            if (command.parameterCount() == 0 && subCommand(command.method().getGenericReturnType()) != null) {
+                return command;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The class a field or method of this type leads on to as a sub command, or null when it holds a plain value: a
+     * primitive, an array, an enum or a JDK class. A {@link Supplier} leads on to the class it supplies.
+     */
+    static Class<?> subCommand(Type type) {
+        Type target = type;
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() == Supplier.class) {
+            target = parameterized.getActualTypeArguments()[0];
+        }
+        if (target instanceof ParameterizedType parameterized) {
+            target = parameterized.getRawType();
+        }
+        if (!(target instanceof Class<?> raw) || raw.isPrimitive() || raw.isArray() || raw.isEnum() || raw == Supplier.class) {
+            return null;
+        }
+        final String name = raw.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") ? null : raw;
+    }
+
+    /**
+     * The methods called {@code methodName} that have parameter names, empty when there are none.
+     */
+    List<Command> overloads(String methodName) {
+        final List<Command> reply = overloads.get(methodName);
+        return reply == null ? List.of() : reply;
+    }
+
+    /**
+     * False when {@code methodName} was compiled without {@code -parameters}, so its parameters cannot be matched by name.
+     */
+    boolean hasParameterNames(String methodName) {
+        return !methodsWithoutParameterNames.contains(methodName);
+    }
+
+    Command find(String methodName, Set<String> parameterNames) {
+        final Command reply = commands.get(new Signature(methodName, parameterNames));
+        if (reply == null && methodsWithoutParameterNames.contains(methodName)) {
+            throw missingParameterNames();
+        }
+        return reply;
+    }
+
+    private static UnsupportedOperationException missingParameterNames() {
+        return new UnsupportedOperationException(MISSING_PARAMETER_NAMES);
+    }
+
+    /**
+     * Finds the overload that has all of {@code parameterNames} plus exactly {@code positionalCount} others, for
+     * commands that leave some of their parameters unnamed. Returns null when there is none.
+     */
+    Command find(String methodName, Set<String> parameterNames, int positionalCount) {
+        final List<Command> reply = overloads(methodName, parameterNames, positionalCount);
+        if (reply.size() > 1) {
+            throw new IllegalArgumentException(ambiguous(methodName, positionalCount));
+        }
+        if (reply.isEmpty() && methodsWithoutParameterNames.contains(methodName)) {
+            throw missingParameterNames();
+        }
+        return reply.isEmpty() ? null : reply.get(0);
+    }
+
+    /**
+     * Every overload that has all of {@code parameterNames} plus exactly {@code positionalCount} others. More than one
+     * is {@link #ambiguous}.
+     */
+    List<Command> overloads(String methodName, Set<String> parameterNames, int positionalCount) {
+        List<Command> reply = null;
+        for (Command command : overloads(methodName)) {
+            if (command.parameterCount() == parameterNames.size() + positionalCount && hasParameters(command, parameterNames)) {
+                if (reply == null) {
+                    reply = new ArrayList<>(1);
+                }
+                reply.add(command);
+            }
+        }
+        return reply == null ? List.of() : reply;
+    }
+
+    static String ambiguous(String methodName, int positionalCount) {
+        return "Method \"" + methodName + "\" has more than one overload taking " + positionalCount + " positional parameters. Please name the parameters";
+    }
+
+    private static boolean hasParameters(Command command, Set<String> parameterNames) {
+        int found = 0;
+        for (int i = 0; i < command.parameterCount(); i++) {
+            if (parameterNames.contains(command.parameterName(i))) {
+                found++;
+            }
+        }
+        return found == parameterNames.size();
+    }
+
+    private static Map<String, List<Command>> copyOf(Map<String, List<Command>> byName) {
+        final Map<String, List<Command>> reply = new HashMap<>();
+        for (Map.Entry<String, List<Command>> entry : byName.entrySet()) {
+            reply.put(entry.getKey(), List.copyOf(entry.getValue()));
+        }
+        return Map.copyOf(reply);
+    }
+
+    private static boolean parameterNamesPresent(Method method) {
+        for (Parameter parameter : method.getParameters()) {
+            if (!parameter.isNamePresent()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> parameterNames(Command command) {
+        final Set<String> reply = new HashSet<>();
+        for (int i = 0; i < command.parameterCount(); i++) {
+            reply.add(command.parameterName(i));
+        }
+        return Set.copyOf(reply);
+    }
+
+    private static Set<String> objectLevelMethods() {
+        final Set<String> reply = new HashSet<>();
+        for (Method method : Object.class.getMethods()) {
+            reply.add(method.getName());
+        }
+        return Set.copyOf(reply);
+    }
+
+    private record Signature(String methodName, Set<String> parameterNames) {
+    }
+}
@@ -0,0 +1,125 @@
+package org.github;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The method name and parameters of one command, read in a single pass over the arguments:
+ * <ul>
+ *     <li>{@code --name=value} sets a parameter, everything after the first {@code =} is the value</li>
+ *     <li>{@code --name} on its own means {@code --name=true}</li>
+ *     <li>a repeated {@code --name} keeps each of its values apart, so {@code --tag=a,b --tag=c} is two values</li>
+ *     <li>anything else is a positional value, given to the parameters that were not named, in order</li>
+ * </ul>
+ * Each argument is looked at once and only the name and value strings are allocated, so the time taken grows
+ * linearly with the number of arguments.
+ */
+final class CommandLine {
+
+    private static final String PREFIX = "--";
+
+    private final String methodName;
+    private final Map<String, String> named;
+    private final Map<String, List<String>> repeated;
+    private final List<String> positional;
+
+    private CommandLine(String methodName, Map<String, String> named, Map<String, List<String>> repeated, List<String> positional) {
+        this.methodName = methodName;
+        this.named = named;
+        this.repeated = repeated;
+        this.positional = positional;
+    }
+
+    /**
+     * @param args the method name followed by its parameters
+     */
+    static CommandLine parse(String... args) {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Please pass the public method name that you would like to call");
+        }
+        final Map<String, String> named = new HashMap<>(capacity(args.length - 1));
+        Map<String, List<String>> repeated = null;
+        List<String> positional = null;
+        for (int i = 1; i < args.length; i++) {
+            final String argument = args[i];
+            if (argument.length() <= PREFIX.length() || !argument.startsWith(PREFIX)) {
+                if (positional == null) {
+                    positional = new ArrayList<>();
+                }
+                positional.add(argument);
+                continue;
+            }
+            final int equals = argument.indexOf('=', PREFIX.length());
+            final String name = (equals < 0 ? argument.substring(PREFIX.length()) : argument.substring(PREFIX.length(), equals)).trim();
+            final String value = equals < 0 ? "true" : argument.substring(equals + 1).trim();
+            final String previous = named.putIfAbsent(name, value);
+            if (previous != null) {
+                if (repeated == null) {
+                    repeated = new HashMap<>();
+                }
+                List<String> values = repeated.get(name);
+                if (values == null) {
+                    values = new ArrayList<>();
+                    values.add(previous);
+                    repeated.put(name, values);
+                }
+                values.add(value);
+            }
+        }
+        return new CommandLine(args[0], named, repeated == null ? Map.of() : repeated, positional == null ? List.of() : positional);
+    }
+
+    /**
+     * Whether {@code args[index]} names a sub command to walk into rather than the method to call, which is so when
+     * another name, not a {@code --} parameter, comes after it.
+     */
+    static boolean leadsOn(String[] args, int index) {
+        return index + 1 < args.length && !args[index + 1].startsWith(PREFIX);
+    }
+
+    private static int capacity(int entries) {
+        return Math.max(4, (int) (entries / 0.75f) + 1);
+    }
+
+    String methodName() {
+        return methodName;
+    }
+
+    /**
+     * The named parameters, with the first value of repeated ones.
+     */
+    Map<String, String> named() {
+        return named;
+    }
+
+    /**
+     * Every value of each parameter given more than once, in the order given.
+     */
+    Map<String, List<String>> repeated() {
+        return repeated;
+    }
+
+    List<String> positional() {
+        return positional;
+    }
+
+    /**
+     * The value of each parameter of {@code command}, giving the positional values to the parameters that were not
+     * named, in order. The command must take as many parameters as there are values.
+     */
+    Map<String, String> parametersOf(Command command) {
+        if (positional.isEmpty()) {
+            return named;
+        }
+        int next = 0;
+        for (int i = 0; i < command.parameterCount(); i++) {
+            final String name = command.parameterName(i);
+            if (!named.containsKey(name)) {
+                named.put(name, positional.get(next++));
+            }
+        }
+        return named;
+    }
+}
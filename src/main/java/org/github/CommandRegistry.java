@@ -0,0 +1,111 @@
+package org.github;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The {@link FireCommand} classes listed in {@value #RESOURCE} by the annotation processor, by name.
+ * <p>
+ * Only the lists are read, one per jar, and only the class that is asked for is loaded and created, so starting a
+ * command line with hundreds of command classes takes as long as starting one with a single class.
+ */
+public final class CommandRegistry {
+
+    public static final String RESOURCE = "META-INF/jfire/commands";
+
+    private final ClassLoader loader;
+    private final Map<String, String> classNames;
+
+    private CommandRegistry(ClassLoader loader, Map<String, String> classNames) {
+        this.loader = loader;
+        this.classNames = classNames;
+    }
+
+    /**
+     * Reads every {@value #RESOURCE} that {@code loader} can see. A name listed by two jars for different classes is
+     * an error, rather than one of them being picked by the order of the class path.
+     */
+    public static CommandRegistry load(ClassLoader loader) {
+        final Map<String, String> classNames = new TreeMap<>();
+        try {
+            final Enumeration<URL> resources = loader.getResources(RESOURCE);
+            while (resources.hasMoreElements()) {
+                read(resources.nextElement(), classNames);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read " + RESOURCE, e);
+        }
+        return new CommandRegistry(loader, classNames);
+    }
+
+    private static void read(URL resource, Map<String, String> classNames) throws IOException {
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                line = line.trim();
+                final int separator = line.indexOf('=');
+                if (line.isEmpty() || line.startsWith("#") || separator < 0) {
+                    continue;
+                }
+                final String name = line.substring(0, separator);
+                final String className = line.substring(separator + 1);
+                final String previous = classNames.putIfAbsent(name, className);
+                if (previous != null && !previous.equals(className)) {
+                    throw new IllegalStateException("The command \"" + name + "\" is registered for both " + previous + " and " + className);
+                }
+            }
+        }
+    }
+
+    public Set<String> names() {
+        return classNames.keySet();
+    }
+
+    /**
+     * Loads the class registered as {@code name} and creates it through its public constructor without parameters.
+     */
+    public Object create(String name) {
+        final String className = name == null ? null : classNames.get(name);
+        if (className == null) {
+            throw new IllegalArgumentException(unknown(name));
+        }
+        final Constructor<?> constructor;
+        try {
+            constructor = Class.forName(className, true, loader).getConstructor();
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("The command \"" + name + "\" is registered for " + className + ", which cannot be found", e);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("The command \"" + name + "\" cannot be created, as " + className + " has no public constructor without parameters");
+        }
+        try {
+            return constructor.newInstance();
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalArgumentException("The command \"" + name + "\" cannot be created: " + e.getMessage());
+        }
+    }
+
+    private String unknown(String name) {
+        final StringBuilder reply = new StringBuilder();
+        if (name == null) {
+            reply.append("Please choose a command. ");
+        } else {
+            reply.append("Command \"").append(name).append("\" is not found. ");
+        }
+        if (classNames.isEmpty()) {
+            return reply.append("No commands are registered in ").append(RESOURCE)
+                    .append(", is the processor on the annotation processor path?").toString();
+        }
+        return reply.append("\nCommands are: \"").append(String.join(", ", classNames.keySet())).append("\"").toString();
+    }
+}
@@ -0,0 +1,157 @@
+package org.github;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.BaseStream;
+
+/**
+ * Writes a shell completion index for a fire target at build time, so tab completion never starts a JVM.
+ * <p>
+ * The index is a directory with one small file per command line prefix, listing one word per line: {@code _} for the
+ * first word, {@code users} for what can follow {@code users}, {@code users.list} for the flags of {@code users list}
+ * and {@code users.list.--format} for the values of its {@code --format} flag. A file of {@code :file} means a file
+ * name. The bash and zsh scripts written next to it read the one file for the words typed so far, so completing
+ * takes the same time however many commands there are. A sub command leading back to a class already on its path is
+ * left out, and the words after it complete as if it was not there.
+ * <pre>
+ * java -classpath &lt;jar_files&gt; org.github.Completions org.github.examples.CommandLineApp app build/completion
+ * </pre>
+ */
+public final class Completions {
+
+    private static final String ROOT = "_";
+    private static final String JFIRE_FLAGS = "--";
+    private static final String FILE = ":file";
+    private static final int MAX_DEPTH = 8;
+
+    private final Map<String, SortedSet<String>> files = new TreeMap<>();
+
+    private Completions() {
+    }
+
+    public static void main(String... args) throws Exception {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Please pass the class to complete, the name of the program and the directory to write to");
+        }
+        write(Class.forName(args[0]), args[1], Path.of(args[2]));
+    }
+
+    /**
+     * Writes {@code <program>.index}, {@code <program>.bash} and the zsh {@code _<program>} into {@code directory}.
+     * The scripts hold the absolute path of the index, so the three are regenerated rather than moved.
+     */
+    public static void write(Class<?> target, String program, Path directory) throws IOException {
+        final Completions completions = new Completions();
+        completions.visit(target, ROOT, new HashSet<>(), 0);
+        completions.addJFireFlags();
+        final Path index = directory.resolve(program + ".index").toAbsolutePath();
+        Files.createDirectories(index);
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(index)) {
+            for (Path file : stale) {
+                Files.delete(file);
+            }
+        }
+        for (Map.Entry<String, SortedSet<String>> file : completions.files.entrySet()) {
+            Files.write(index.resolve(file.getKey()), file.getValue(), StandardCharsets.UTF_8);
+        }
+        final String function = "_jfire_" + program.replaceAll("[^A-Za-z0-9_]", "_");
+        Files.writeString(directory.resolve(program + ".bash"), script("completion.bash", program, function, index));
+        Files.writeString(directory.resolve("_" + program), script("completion.zsh", program, function, index));
+    }
+
+    Map<String, SortedSet<String>> files() {
+        return files;
+    }
+
+    private void visit(Class<?> type, String path, Set<Class<?>> visiting, int depth) {
+        if (depth >= MAX_DEPTH || !visiting.add(type)) {
+            return;
+        }
+        final CommandIndex index = CommandIndex.of(type);
+        final SortedSet<String> words = words(path);
+        for (String name : new TreeSet<>(index.methodNames())) {
+            words.add(name);
+            final String key = key(path, name);
+            for (Command command : index.overloads(name)) {
+                for (int i = 0; i < command.parameterCount(); i++) {
+                    final String flag = "--" + command.parameterName(i);
+                    words(key).add(flag + "=");
+                    values(key + "." + flag, command.parameterType(i));
+                }
+                if (command.parameterCount() == 0 && !command.returnsVoid()) {
+                    final Class<?> next = CommandIndex.subCommand(command.method().getGenericReturnType());
+                    if (next != null) {
+                        visit(next, key, visiting, depth + 1);
+                    }
+                }
+            }
+        }
+        for (Field field : index.fields()) {
+            final Class<?> next = CommandIndex.subCommand(field.getGenericType());
+            if (next != null) {
+                words.add(field.getName());
+                visit(next, key(path, field.getName()), visiting, depth + 1);
+            }
+        }
+        visiting.remove(type);
+    }
+
+    private void values(String key, Class<?> type) {
+        if (type == boolean.class || type == Boolean.class) {
+            words(key).addAll(List.of("true", "false"));
+        } else if (type.isEnum()) {
+            for (Object constant : type.getEnumConstants()) {
+                words(key).add(((Enum<?>) constant).name());
+            }
+        } else if (type == Path.class || InputStream.class.isAssignableFrom(type) || Reader.class.isAssignableFrom(type)
+                || Buffer.class.isAssignableFrom(type) || BaseStream.class.isAssignableFrom(type)) {
+            words(key).add(FILE);
+        }
+    }
+
+    private void addJFireFlags() {
+        for (String flag : List.of("batch", "fan-out", "parallelism", "serve", "flush", "timeout", "format", "cache")) {
+            words(JFIRE_FLAGS).add("--" + flag + "=");
+        }
+        words(JFIRE_FLAGS).add("--timings");
+        words(JFIRE_FLAGS).add("--jfr");
+        words(JFIRE_FLAGS).add("--validate");
+        words(JFIRE_FLAGS + ".--batch").add(FILE);
+        words(JFIRE_FLAGS + ".--cache").add(FILE);
+        words(JFIRE_FLAGS + ".--flush").addAll(List.of("each", "full"));
+        words(JFIRE_FLAGS + ".--format").addAll(List.of("text", "jsonl", "csv", "tsv", "binary"));
+    }
+
+    private SortedSet<String> words(String key) {
+        SortedSet<String> reply = files.get(key);
+        if (reply == null) {
+            reply = new TreeSet<>();
+            files.put(key, reply);
+        }
+        return reply;
+    }
+
+    private static String key(String path, String name) {
+        return ROOT.equals(path) ? name : path + "." + name;
+    }
+
+    private static String script(String template, String program, String function, Path index) throws IOException {
+        try (InputStream in = Completions.class.getResourceAsStream(template)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing completion template " + template);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8)
+                    .replace("@PROGRAM@", program)
+                    .replace("@FUNCTION@", function)
+                    .replace("@INDEX@", index.toString().replace("'", "'\\''"));
+        }
+    }
+}
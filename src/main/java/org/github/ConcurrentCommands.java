@@ -0,0 +1,80 @@
+package org.github;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs independent commands from one command line at the same time, e.g. {@code fetch --id=1 + fetch --id=2}.
+ * Each command's output is kept together and printed as soon as that command completes. When any of them fails, the
+ * others still run to the end and the failures are reported together.
+ */
+final class ConcurrentCommands {
+
+    static final String SEPARATOR = "+";
+
+    private ConcurrentCommands() {
+    }
+
+    static List<String[]> split(String... args) {
+        final List<String[]> reply = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < args.length; i++) {
+            if (SEPARATOR.equals(args[i])) {
+                reply.add(Arrays.copyOfRange(args, start, i));
+                start = i + 1;
+            }
+        }
+        reply.add(start == 0 ? args : Arrays.copyOfRange(args, start, args.length));
+        return reply;
+    }
+
+    static void run(InternalFire fire, Object toRun, List<String[]> commands) {
+        final List<Runnable> calls = new ArrayList<>(commands.size());
+        for (String[] command : commands) {
+            calls.add(fire.prepare(toRun, command));
+        }
+        final ExecutorService pool = Executors.newFixedThreadPool(calls.size());
+        try (CapturedOutput output = new CapturedOutput()) {
+            final CompletionService<byte[]> completed = new ExecutorCompletionService<>(pool);
+            final List<Future<byte[]>> results = new ArrayList<>(calls.size());
+            for (Runnable call : calls) {
+                results.add(completed.submit(output.capture(call)));
+            }
+            for (int i = 0; i < calls.size(); i++) {
+                final Future<byte[]> result = completed.take();
+                try {
+                    output.write(result.get());
+                } catch (ExecutionException e) {
+                    // reported below, in the order the commands were given
+                }
+            }
+            final StringBuilder failures = new StringBuilder();
+            int failed = 0;
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    results.get(i).get();
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    failures.append(System.lineSeparator()).append(commands.get(i)[0]).append(": ")
+                            .append(cause.getMessage() == null ? cause : cause.getMessage());
+                    failed++;
+                }
+            }
+            if (failed > 0) {
+                throw new RuntimeException(failed + " of " + calls.size() + " commands failed:" + failures);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
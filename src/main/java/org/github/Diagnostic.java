@@ -0,0 +1,26 @@
+package org.github;
+
+import java.util.List;
+
+/**
+ * One problem found by {@link InternalFire#validate} in a command that was checked without being run.
+ *
+ * @param line        the line of a batch the command is on, counting from 1, or 0 for a single command
+ * @param message     the same message running the command would fail with
+ * @param suggestions the known names closest to a misspelt method or parameter name, closest first
+ */
+public record Diagnostic(int line, String message, List<String> suggestions) {
+
+    @Override
+    public String toString() {
+        final StringBuilder reply = new StringBuilder();
+        if (line > 0) {
+            reply.append("line ").append(line).append(": ");
+        }
+        reply.append(message);
+        for (int i = 0; i < suggestions.size(); i++) {
+            reply.append(i == 0 ? "\nDid you mean \"" : " or \"").append(suggestions.get(i)).append('"');
+        }
+        return suggestions.isEmpty() ? reply.toString() : reply.append('?').toString();
+    }
+}
@@ -0,0 +1,132 @@
+package org.github;
+
+import org.github.converter.Converter;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calls the public methods of one target class directly, without reflection.
+ * Implementations are generated for classes annotated with {@link FireCommand} and are named after the binary name
+ * of the target class followed by {@value #SUFFIX}.
+ */
+public interface Dispatcher<T> {
+
+    String SUFFIX = "_FireDispatcher";
+
+    /**
+     * Returned by {@link #dispatch} when the called method is void.
+     */
+    Object NO_RESULT = new Object();
+
+    /**
+     * Returned by {@link #dispatch} when no method matches the method name and parameter names.
+     */
+    Object NOT_FOUND = new Object();
+
+    List<String> methodNames();
+
+    /**
+     * Whether a method called {@code methodName} takes exactly these parameters, so that a command that would not be
+     * found is rejected before any command runs.
+     */
+    boolean accepts(String methodName, Set<String> parameterNames);
+
+    /**
+     * @param parameters the value of each parameter, the first one for a parameter given more than once
+     * @param repeated   every value of each parameter given more than once, in the order given
+     * @param opened     where the {@code InputStream}, {@code Reader} and {@code Stream} arguments are added as they are
+     *                   opened, for the caller to close once the call is done with them
+     */
+    Object dispatch(T target, String methodName, Map<String, String> parameters, Map<String, List<String>> repeated, Converter converter,
+                    List<AutoCloseable> opened) throws Throwable;
+
+    static Object argument(Converter converter, Map<String, String> parameters, Map<String, List<String>> repeated, String parameterName, Class<?> type) {
+        final List<String> values = values(repeated, parameterName, type);
+        try {
+            return values == null ? converter.convert(parameters.get(parameterName), type) : converter.convertEach(values, type);
+        } catch (IllegalArgumentException e) {
+            throw InternalFire.conversionFailure(e, parameterName);
+        }
+    }
+
+    static Object argument(Converter converter, Map<String, String> parameters, Map<String, List<String>> repeated, String parameterName, Type type) {
+        final List<String> values = values(repeated, parameterName, type);
+        try {
+            return values == null ? converter.converterFor(type).convert(parameters.get(parameterName)) : converter.convertEach(values, type);
+        } catch (IllegalArgumentException e) {
+            throw InternalFire.conversionFailure(e, parameterName);
+        }
+    }
+
+    /**
+     * Converts an {@code InputStream}, {@code Reader} or {@code Stream} parameter and adds it to {@code opened}.
+     */
+    static Object input(Converter converter, Map<String, String> parameters, Map<String, List<String>> repeated, String parameterName, Type type,
+                        List<AutoCloseable> opened) {
+        final Object reply = argument(converter, parameters, repeated, parameterName, type);
+        if (reply instanceof AutoCloseable closeable) {
+            opened.add(closeable);
+        }
+        return reply;
+    }
+
+    /*
+     * int, long, double and boolean parameters are converted without boxing, as InternalFire converts them.
+     */
+    static int intArgument(Converter converter, Map<String, String> parameters, Map<String, List<String>> repeated, String parameterName) {
+        final String value = single(parameters, repeated, parameterName);
+        try {
+            return converter.intConverter().convert(value);
+        } catch (IllegalArgumentException e) {
+            throw InternalFire.conversionFailure(e, parameterName);
+        }
+    }
+
+    static long longArgument(Converter converter, Map<String, String> parameters, Map<String, List<String>> repeated, String parameterName) {
+        final String value = single(parameters, repeated, parameterName);
+        try {
+            return converter.longConverter().convert(value);
+        } catch (IllegalArgumentException e) {
+            throw InternalFire.conversionFailure(e, parameterName);
+        }
+    }
+
+    static double doubleArgument(Converter converter, Map<String, String> parameters, Map<String, List<String>> repeated, String parameterName) {
+        final String value = single(parameters, repeated, parameterName);
+        try {
+            return converter.doubleConverter().convert(value);
+        } catch (IllegalArgumentException e) {
+            throw InternalFire.conversionFailure(e, parameterName);
+        }
+    }
+
+    static boolean booleanArgument(Converter converter, Map<String, String> parameters, Map<String, List<String>> repeated, String parameterName) {
+        final String value = single(parameters, repeated, parameterName);
+        try {
+            return converter.booleanConverter().convert(value);
+        } catch (IllegalArgumentException e) {
+            throw InternalFire.conversionFailure(e, parameterName);
+        }
+    }
+
+    private static String single(Map<String, String> parameters, Map<String, List<String>> repeated, String parameterName) {
+        if (repeated.containsKey(parameterName)) {
+            throw new IllegalArgumentException(InternalFire.givenMoreThanOnce(parameterName));
+        }
+        return parameters.get(parameterName);
+    }
+
+    /**
+     * The values of a parameter that was given more than once, or null when it was given once.
+     */
+    private static List<String> values(Map<String, List<String>> repeated, String parameterName, Type type) {
+        final List<String> reply = repeated.get(parameterName);
+        if (reply != null && !Converter.acceptsSeveralValues(type)) {
+            throw new IllegalArgumentException(InternalFire.givenMoreThanOnce(parameterName));
+        }
+        return reply;
+    }
+}
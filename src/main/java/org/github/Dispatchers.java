@@ -0,0 +1,36 @@
+package org.github;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+
+final class Dispatchers {
+
+    private static final ClassValue<Optional<Dispatcher<Object>>> DISPATCHERS = new ClassValue<>() {
+        @Override
+        protected Optional<Dispatcher<Object>> computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private Dispatchers() {
+    }
+
+    static Dispatcher<Object> find(Class<?> target) {
+        return DISPATCHERS.get(target).orElse(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<Dispatcher<Object>> load(Class<?> target) {
+        final Class<?> generated;
+        try {
+            generated = Class.forName(target.getName() + Dispatcher.SUFFIX, true, target.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((Dispatcher<Object>) generated.getDeclaredConstructor().newInstance());
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            throw new IllegalStateException("Unable to create dispatcher " + generated.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.github;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Calls one method once per value of one of its parameters, e.g. {@code process --file=*.csv -- --fan-out=file}.
+ * The values are a comma separated list or a glob, or each value of a parameter given more than once, a glob
+ * being expanded in place. The method is resolved once and the calls run on a bounded pool.
+ * What each call prints is collected and written out in the order of the values, and failures are reported together
+ * at the end.
+ */
+final class FanOut {
+
+    private final InternalFire fire;
+    private final int parallelism;
+    private final PrintStream report;
+
+    FanOut(InternalFire fire, int parallelism, PrintStream report) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, but was " + parallelism);
+        }
+        this.fire = fire;
+        this.parallelism = parallelism;
+        this.report = report;
+    }
+
+    Report run(Object toRun, String parameter, String... args) throws InterruptedException {
+        final InternalFire.Target target = fire.walk(toRun, args);
+        final InternalFire.Parameters parameters = fire.parameters(target.object(), target.args());
+        if (!parameters.values().containsKey(parameter)) {
+            throw new IllegalArgumentException("Cannot fan out over \"" + parameter + "\", it is not one of the parameters passed");
+        }
+        final List<String> given = parameters.repeated().get(parameter);
+        final List<String> values = given == null ? values(parameters.values().get(parameter)) : each(given);
+        final InternalFire.Call call = fire.resolve(target.object(), target.args()[0], parameters.names());
+
+        final ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, values.size())));
+        try (CapturedOutput output = new CapturedOutput()) {
+            final List<Future<byte[]>> results = new ArrayList<>(values.size());
+            for (String value : values) {
+                final InternalFire.Parameters callParameters = parameters.with(parameter, value);
+                results.add(pool.submit(output.capture(() -> call.run(callParameters))));
+            }
+            final List<String> failures = new ArrayList<>();
+            for (int i = 0; i < values.size(); i++) {
+                try {
+                    output.write(results.get(i).get());
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    failures.add(parameter + "=" + values.get(i) + ": " + (cause.getMessage() == null ? cause : cause.getMessage()));
+                }
+            }
+            final Report reply = new Report(values.size() - failures.size(), failures);
+            report.println(reply);
+            return reply;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    static List<String> values(String value) {
+        if (!isGlob(value)) {
+            final List<String> reply = new ArrayList<>();
+            for (String element : value.split(",")) {
+                if (!element.isBlank()) {
+                    reply.add(element.trim());
+                }
+            }
+            return reply;
+        }
+        return glob(value);
+    }
+
+    private static List<String> each(List<String> given) {
+        final List<String> reply = new ArrayList<>(given.size());
+        for (String value : given) {
+            if (isGlob(value)) {
+                reply.addAll(glob(value));
+            } else {
+                reply.add(value);
+            }
+        }
+        return reply;
+    }
+
+    private static boolean isGlob(String value) {
+        return value.indexOf('*') >= 0 || value.indexOf('?') >= 0 || value.indexOf('[') >= 0 || value.indexOf('{') >= 0;
+    }
+
+    private static List<String> glob(String pattern) {
+        final Path base = base(pattern);
+        final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        final int baseDepth = base.toString().isEmpty() ? 0 : base.getNameCount();
+        final int depth = pattern.contains("**") ? Integer.MAX_VALUE : Path.of(pattern).getNameCount() - baseDepth;
+        try (Stream<Path> files = Files.walk(base, depth)) {
+            final List<String> reply = new ArrayList<>();
+            files.filter(matcher::matches)
+                    .map(Path::toString)
+                    .sorted()
+                    .forEach(reply::add);
+            return reply;
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalArgumentException("Cannot list files for \"" + pattern + "\": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The directory to walk, which is the part of the glob before the first segment with a wildcard.
+     */
+    private static Path base(String pattern) {
+        Path reply = Path.of(pattern).isAbsolute() ? Path.of(pattern).getRoot() : Path.of("");
+        for (Path segment : Path.of(pattern)) {
+            final String name = segment.toString();
+            if (name.indexOf('*') >= 0 || name.indexOf('?') >= 0 || name.indexOf('[') >= 0 || name.indexOf('{') >= 0) {
+                break;
+            }
+            reply = reply.resolve(segment);
+        }
+        return reply;
+    }
+
+    record Report(int succeeded, List<String> failures) {
+
+        @Override
+        public String toString() {
+            final StringBuilder reply = new StringBuilder("Ran ").append(succeeded + failures.size()).append(" calls (")
+                    .append(succeeded).append(" ok, ").append(failures.size()).append(" failed)");
+            for (String failure : failures) {
+                reply.append(System.lineSeparator()).append("  ").append(failure);
+            }
+            return reply.toString();
+        }
+    }
+}
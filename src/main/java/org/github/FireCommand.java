@@ -0,0 +1,25 @@
+package org.github;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class whose public methods are called through JFire. When the processor from the {@code processor}
+ * subproject is on the annotation processor path, a {@link Dispatcher} is generated for the class and
+ * {@link JFire#fire} uses it instead of reflection. The generated dispatcher also works without {@code -parameters}.
+ * <p>
+ * The processor also lists the class in {@value CommandRegistry#RESOURCE} under its {@link #name()}, so that
+ * {@link JFire#main} can call it without the class being loaded before it is asked for.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface FireCommand {
+
+    /**
+     * The first word on the command line that selects this class in {@link JFire#main}. Empty for the simple name of
+     * the class starting in lower case, such as {@code commandLineApp}.
+     */
+    String name() default "";
+}
@@ -0,0 +1,149 @@
+package org.github;
+
+import org.github.converter.TypeConverter;
+import org.github.memo.MemoStore;
+import org.github.output.OutputFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calls commands on one target from inside another program, such as a server dispatching commands on its request
+ * threads. Unlike {@link JFire#fire}, an engine is built once, never exits the JVM and returns a {@link FireResult}
+ * for every command instead of printing failures.
+ * <p>
+ * An engine is immutable and can be shared by any number of threads. Methods are resolved and bound once and then
+ * looked up without locks, so commands only contend where the target itself does; the target must be thread safe.
+ * Returned values are not printed unless an {@link Builder#output output} is given, so a returned
+ * {@link java.util.concurrent.CompletionStage} or {@link java.util.stream.Stream} is handed back unfinished. Files and
+ * standard input it may still be reading are then only closed when the stream is closed or the stage completes, so
+ * a returned stream should be closed once it has been used, as with {@code try (Stream<String> lines = ...)}.
+ */
+public final class FireEngine {
+
+    private final Object target;
+    private final InternalFire fire;
+    private final PrintStream output;
+
+    private FireEngine(Builder builder) {
+        target = builder.target;
+        fire = new InternalFire(builder.settings);
+        output = builder.output == null ? null
+                : builder.output instanceof PrintStream printStream ? printStream : new PrintStream(builder.output, false, Charset.defaultCharset());
+    }
+
+    public static Builder builder(Object target) {
+        if (target == null) {
+            throw new IllegalArgumentException("Please pass the object to call commands on");
+        }
+        return new Builder(target);
+    }
+
+    /**
+     * Calls one command, e.g. {@code fire("hello", "--who=you")}. With an output, the result is formatted into a
+     * buffer and written to it in one go, so the output of commands running side by side is not interleaved.
+     */
+    public FireResult fire(String... args) {
+        try {
+            if (output == null) {
+                return new FireResult(fire.call(target, null, args), null);
+            }
+            final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+            final Object value;
+            try (PrintStream out = new PrintStream(printed, false, Charset.defaultCharset())) {
+                value = fire.call(target, out, args);
+            }
+            output.write(printed.toByteArray(), 0, printed.size());
+            output.flush();
+            return new FireResult(value, null);
+        } catch (RuntimeException e) {
+            return new FireResult(null, e);
+        }
+    }
+
+    /**
+     * Checks one command without calling it, e.g. before queueing it to run later. Returns no diagnostics when the
+     * command would run.
+     */
+    public List<Diagnostic> validate(String... args) {
+        return fire.validate(target, args);
+    }
+
+    /**
+     * Collects the settings of a {@link FireEngine}. A builder is not thread safe, but the engines it builds are, and
+     * later changes to the builder do not affect them.
+     */
+    public static final class Builder {
+
+        private final Object target;
+        private final InternalFire.Settings settings = new InternalFire.Settings();
+        private OutputStream output;
+
+        private Builder(Object target) {
+            this.target = target;
+        }
+
+        public Builder converter(Class<?> type, TypeConverter converter) {
+            settings.converter(type, converter);
+            return this;
+        }
+
+        public Builder converters(Map<Class<?>, TypeConverter> additionalConverters) {
+            settings.converters(additionalConverters);
+            return this;
+        }
+
+        /**
+         * How methods are called, {@link InvokerFactory#METHOD_HANDLE} unless given, as an engine is expected to call
+         * them many times.
+         */
+        public Builder invokers(InvokerFactory invokers) {
+            settings.invokers(invokers);
+            return this;
+        }
+
+        /**
+         * How long to wait for a returned {@link java.util.concurrent.CompletionStage} before writing it to the output.
+         */
+        public Builder awaitTimeout(Duration awaitTimeout) {
+            settings.awaitTimeout(awaitTimeout);
+            return this;
+        }
+
+        public Builder listener(FireListener listener) {
+            settings.listener(listener);
+            return this;
+        }
+
+        public Builder format(OutputFormat format) {
+            settings.format(format);
+            return this;
+        }
+
+        /**
+         * Where the results of {@link Memoize} methods are remembered, {@link MemoStore#defaultFile()} unless given.
+         * Results are only remembered when they are written to an output.
+         */
+        public Builder memoStore(MemoStore memo) {
+            settings.memoStore(memo);
+            return this;
+        }
+
+        /**
+         * Where returned values are written in the {@link #format(OutputFormat) format}, or null to only return them.
+         */
+        public Builder output(OutputStream output) {
+            this.output = output;
+            return this;
+        }
+
+        public FireEngine build() {
+            return new FireEngine(this);
+        }
+    }
+}
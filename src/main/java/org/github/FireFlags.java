@@ -0,0 +1,103 @@
+package org.github;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Splits the command line on the first standalone {@code --}, in the same way as python fire.
+ * Everything before it is the command, everything after it are flags for JFire itself, such as {@code --batch=file}.
+ */
+final class FireFlags {
+
+    static final String SEPARATOR = "--";
+
+    private final String[] command;
+    private final Map<String, String> flags;
+
+    private FireFlags(String[] command, Map<String, String> flags) {
+        this.command = command;
+        this.flags = flags;
+    }
+
+    static FireFlags split(String... args) {
+        final Map<String, String> flags = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (SEPARATOR.equals(args[i])) {
+                for (int j = i + 1; j < args.length; j++) {
+                    addFlag(flags, args[j]);
+                }
+                return new FireFlags(Arrays.copyOf(args, i), flags);
+            }
+        }
+        return new FireFlags(args, flags);
+    }
+
+    private static void addFlag(Map<String, String> flags, String flag) {
+        if (!flag.startsWith(SEPARATOR)) {
+            throw new IllegalArgumentException("JFire flags must look like --flag or --flag=value, but got \"" + flag + "\"");
+        }
+        final int equals = flag.indexOf('=');
+        if (equals < 0) {
+            flags.put(flag.substring(2), "");
+        } else {
+            flags.put(flag.substring(2, equals), flag.substring(equals + 1));
+        }
+    }
+
+    String[] command() {
+        return command;
+    }
+
+    boolean has(String name) {
+        return flags.containsKey(name);
+    }
+
+    String get(String name, String defaultValue) {
+        final String value = flags.get(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    /**
+     * Reads a duration such as {@code 500ms}, {@code 30s}, {@code 2m}, {@code 1h} or {@code PT1M30S}. A bare number is
+     * in seconds. Returns null when the flag is not there.
+     */
+    Duration duration(String name) {
+        final String value = get(name, null);
+        return value == null ? null : duration("--" + name, value);
+    }
+
+    /**
+     * Reads a duration in the same way as {@link #duration(String)}, {@code what} naming where it came from when it
+     * cannot be read.
+     */
+    static Duration duration(String what, String value) {
+        int digits = 0;
+        while (digits < value.length() && Character.isDigit(value.charAt(digits))) {
+            digits++;
+        }
+        if (digits > 0) {
+            final long amount = Long.parseLong(value.substring(0, digits));
+            switch (value.substring(digits)) {
+                case "":
+                case "s":
+                    return Duration.ofSeconds(amount);
+                case "ms":
+                    return Duration.ofMillis(amount);
+                case "m":
+                    return Duration.ofMinutes(amount);
+                case "h":
+                    return Duration.ofHours(amount);
+                default:
+                    break;
+            }
+        }
+        try {
+            return Duration.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(what + " must be a duration such as 500ms, 30s or 2m, but got \"" + value + "\"");
+        }
+    }
+}
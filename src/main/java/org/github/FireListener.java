@@ -0,0 +1,39 @@
+package org.github;
+
+/**
+ * Told how long each phase of a command took. Phases are only timed when a listener is installed, so there is no
+ * cost otherwise. Commands may run on several threads at once, e.g. with {@code --fan-out}, so implementations must
+ * be thread safe.
+ */
+@FunctionalInterface
+public interface FireListener {
+
+    enum Phase {
+        /** Reading the method name and parameters from the arguments. */
+        PARSE,
+        /** Finding the method to call. */
+        RESOLVE,
+        /** Converting the parameter values. */
+        CONVERT,
+        /** Running the method. For classes with a generated dispatcher, this includes converting the parameters. */
+        INVOKE,
+        /** Printing the result, including waiting for a returned future. */
+        OUTPUT
+    }
+
+    void phaseCompleted(Phase phase, String methodName, long elapsedNanos);
+
+    default FireListener andThen(FireListener next) {
+        return (phase, methodName, elapsedNanos) -> {
+            phaseCompleted(phase, methodName, elapsedNanos);
+            next.phaseCompleted(phase, methodName, elapsedNanos);
+        };
+    }
+
+    /**
+     * Records every phase as a {@code org.github.jfire.Phase} event for JDK Flight Recorder.
+     */
+    static FireListener flightRecorder() {
+        return new PhaseEvent.Listener();
+    }
+}
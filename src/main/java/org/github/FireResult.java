@@ -0,0 +1,25 @@
+package org.github;
+
+/**
+ * The outcome of one {@link FireEngine#fire} call: what the method returned, or why the command failed.
+ *
+ * @param value what the method returned, null for methods without a result or when the command failed
+ * @param error why the command could not be parsed, resolved or converted, or what the method threw; null when it
+ *              succeeded
+ */
+public record FireResult(Object value, RuntimeException error) {
+
+    public boolean succeeded() {
+        return error == null;
+    }
+
+    /**
+     * Returns the value, or throws the error when the command failed.
+     */
+    public Object orElseThrow() {
+        if (error != null) {
+            throw error;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,73 @@
+package org.github;
+
+/**
+ * Decides when streamed results are flushed to {@code System.out}, given how many elements have been written so far.
+ * Between flushes, elements collect in a buffer which is written out whenever it fills up.
+ */
+@FunctionalInterface
+public interface FlushPolicy {
+
+    boolean shouldFlush(long elementsWritten);
+
+    static FlushPolicy eachElement() {
+        return new FlushPolicy() {
+            @Override
+            public boolean shouldFlush(long elementsWritten) {
+                return true;
+            }
+        };
+    }
+
+    static FlushPolicy every(int elements) {
+        if (elements < 1) {
+            throw new IllegalArgumentException("Cannot flush every " + elements + " elements");
+        }
+        return new FlushPolicy() {
+            @Override
+            public boolean shouldFlush(long elementsWritten) {
+                return elementsWritten % elements == 0;
+            }
+        };
+    }
+
+    static FlushPolicy whenFull() {
+        return new FlushPolicy() {
+            @Override
+            public boolean shouldFlush(long elementsWritten) {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Shows the first element straight away, then only flushes when the buffer is full. This is the default.
+     */
+    static FlushPolicy firstThenWhenFull() {
+        return new FlushPolicy() {
+            @Override
+            public boolean shouldFlush(long elementsWritten) {
+                return elementsWritten == 1;
+            }
+        };
+    }
+
+    /**
+     * Reads the value of the {@code --flush} flag: {@code each}, {@code full}, {@code first} or a number of elements.
+     */
+    static FlushPolicy named(String name) {
+        if (name == null || "first".equals(name)) {
+            return firstThenWhenFull();
+        }
+        if ("each".equals(name)) {
+            return eachElement();
+        }
+        if ("full".equals(name)) {
+            return whenFull();
+        }
+        try {
+            return every(Integer.parseInt(name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unknown flush policy \"" + name + "\". Use each, first, full or a number of elements");
+        }
+    }
+}
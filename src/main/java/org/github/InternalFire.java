@@ -1,110 +1,560 @@
 package org.github;
 
-import org.github.converter.Converter;
-import org.github.converter.TypeConverter;
+import org.github.FireListener.Phase;
+import org.github.converter.*;
+import org.github.memo.MemoStore;
+import org.github.output.OutputFormat;
+import org.github.output.RecordEncoder;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.Buffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
 
 public final class InternalFire {
 
+    private static final Object NOT_A_MEMBER = new Object();
+
     private final Converter converter;
+    private final InvokerFactory invokers;
+    private final ResultWriter output;
+    private final OutputFormat format;
+    private final FireListener listener;
+    private volatile MemoStore memo;
+    private final Map<Command, Binding> bindings = new ConcurrentHashMap<>();
 
     public InternalFire(Map<Class<?>, TypeConverter> additionalConverters) {
-        converter = new Converter(additionalConverters);
+        this(new Settings().converters(additionalConverters));
+    }
+
+    /**
+     * Reads the settings once, so later changes to them do not affect this instance.
+     */
+    public InternalFire(Settings settings) {
+        converter = new Converter(settings.converters);
+        invokers = settings.invokers;
+        output = new ResultWriter(settings.flushPolicy, settings.awaitTimeout, settings.format);
+        format = settings.format;
+        listener = settings.listener;
+        memo = settings.memo;
     }
 
+    /**
+     * Calls the command in {@code args}. Several commands separated by a standalone {@code +} are run concurrently.
+     */
     public void fire(Object toRun, String... args) {
-        if (args.length == 0) {
-            throw new IllegalArgumentException("Please pass the public method name that you would like to call");
+        final List<String[]> commands = ConcurrentCommands.split(args);
+        if (commands.size() > 1) {
+            ConcurrentCommands.run(this, toRun, commands);
+        } else {
+            final Target target = walk(toRun, args);
+            final Parameters parameters = parameters(target.object(), target.args());
+            resolve(target.object(), target.args()[0], parameters.names()).run(parameters);
         }
-        final String methodName = args[0];
+    }
+
+    /**
+     * Checks the command in {@code args} without calling it: that the method is found, that every parameter is given
+     * and that every value converts. Sub commands are followed through the declared types of their methods and
+     * suppliers, so none of those are called either, and files are checked to be readable rather than opened.
+     * Returns no diagnostics when the command would run.
+     */
+    public List<Diagnostic> validate(Object toRun, String... args) {
+        return validate(0, toRun, args);
+    }
+
+    List<Diagnostic> validate(int line, Object toRun, String... args) {
+        return new Validator(converter).validate(line, toRun, args);
+    }
+
+    /**
+     * Calls the command in {@code args} and returns what the method returned, printing it to {@code out} as well unless
+     * {@code out} is null. Returns null for methods without a result.
+     */
+    Object call(Object toRun, PrintStream out, String... args) {
+        final Target target = walk(toRun, args);
+        final Parameters parameters = parameters(target.object(), target.args());
+        return resolve(target.object(), target.args()[0], parameters.names()).call(parameters, out);
+    }
+
+    /**
+     * Resolves the command in {@code args} without calling it, so that a mistake in any of several commands is
+     * reported before any of them runs.
+     */
+    Runnable prepare(Object toRun, String... args) {
+        final Target target = walk(toRun, args);
+        final Parameters parameters = parameters(target.object(), target.args());
+        final Call call = resolve(target.object(), target.args()[0], parameters.names());
+        return new PreparedCall(call, parameters);
+    }
+
+    /**
+     * Follows the leading names in {@code args} from object to object, as in python fire: {@code users list --limit=5}
+     * calls {@code list} on the value of the public field, or method without parameters, {@code users}. A name is only
+     * followed when it is not the last one. A {@link Supplier} is only asked for its value when its name is reached,
+     * so sub commands that are expensive to create cost nothing until they are used.
+     */
+    Target walk(Object toRun, String... args) {
+        Object target = toRun;
+        int next = 0;
+        while (CommandLine.leadsOn(args, next)) {
+            final Object member = member(target, args[next]);
+            if (member == NOT_A_MEMBER) {
+                break;
+            }
+            target = member instanceof Supplier<?> supplier ? supplier.get() : member;
+            if (target == null) {
+                throw new IllegalArgumentException("\"" + args[next] + "\" is null, so \"" + args[next + 1] + "\" cannot be called on it");
+            }
+            next++;
+        }
+        return next == 0 ? new Target(toRun, args) : new Target(target, Arrays.copyOfRange(args, next, args.length));
+    }
+
+    /**
+     * Returns the object {@code name} leads to from {@code target}, or {@link #NOT_A_MEMBER} when it is neither a field
+     * nor a method without parameters that leads on to a sub command. Fields come first.
+     */
+    private Object member(Object target, String name) {
+        final CommandIndex index = CommandIndex.of(target.getClass());
+        final Field field = index.subCommandField(name);
+        if (field != null) {
+            try {
+                return field.get(target);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Cannot read the field \"" + name + "\" of " + target.getClass().getCanonicalName());
+            }
+        }
+        final Command accessor = index.accessor(name);
+        if (accessor == null) {
+            return NOT_A_MEMBER;
+        }
+        return invoke(binding(accessor).invoker(), target, new Arguments(0));
+    }
+
+    /**
+     * Reads the parameters in {@code args}, giving positional values the names of the parameters they are for.
+     */
+    Parameters parameters(Object toRun, String... args) {
+        final long start = listener == null ? 0 : System.nanoTime();
+        final CommandLine line = CommandLine.parse(args);
+        final Map<String, String> values = line.positional().isEmpty() ? line.named() : nameParameters(toRun, line);
+        if (listener != null) {
+            lap(Phase.PARSE, line.methodName(), start);
+        }
+        return new Parameters(values, line.repeated());
+    }
+
+    private Map<String, String> nameParameters(Object toRun, CommandLine line) {
+        final CommandIndex index = CommandIndex.of(toRun.getClass());
+        final Command command = index.find(line.methodName(), line.named().keySet(), line.positional().size());
+        if (command == null) {
+            throw new IllegalArgumentException(buildMessage(line.methodName(), index.methodNames()));
+        }
+        return line.parametersOf(command);
+    }
+
+    static String givenMoreThanOnce(String parameterName) {
+        return "Parameter \"" + parameterName + "\" takes a single value, but was given more than once";
+    }
+
+    /**
+     * Finds the method to call once, so that it can be called with many sets of parameter values.
+     */
+    Call resolve(Object toRun, String methodName, Set<String> parameterNames) {
+        final long start = listener == null ? 0 : System.nanoTime();
+        final Call reply = find(toRun, methodName, parameterNames);
+        if (listener != null) {
+            lap(Phase.RESOLVE, methodName, start);
+        }
+        return reply;
+    }
+
+    private Call find(Object toRun, String methodName, Set<String> parameterNames) {
         final Class<?> target = toRun.getClass();
-        final List<Method> publicMethods = collectPublicMethods(target);
-        if(publicMethods.isEmpty()) {
-            throw new IllegalArgumentException("There are no public methods in the class: "+target.getCanonicalName());
+        final Dispatcher<Object> dispatcher = Dispatchers.find(target);
+        if (dispatcher != null) {
+            if (dispatcher.methodNames().isEmpty()) {
+                throw new IllegalArgumentException(noPublicMethods(target));
+            }
+            if (!dispatcher.accepts(methodName, parameterNames)) {
+                throw new IllegalArgumentException(buildMessage(methodName, dispatcher.methodNames()));
+            }
+            return new DispatchedCall(dispatcher, toRun, methodName);
+        }
+        final CommandIndex index = CommandIndex.of(target);
+        if (index.isEmpty()) {
+            throw new IllegalArgumentException(noPublicMethods(target));
+        }
+        final Command command = index.find(methodName, parameterNames);
+        if (command == null) {
+            throw new IllegalArgumentException(buildMessage(methodName, index.methodNames()));
+        }
+        return new BoundCall(command, binding(command), toRun);
+    }
+
+    private Binding binding(Command command) {
+        Binding reply = bindings.get(command);
+        if (reply == null) {
+            reply = bind(command);
+            bindings.putIfAbsent(command, reply);
         }
-        Map<String, String> parameters = parseParameters(Arrays.asList(args).subList(1, args.length));
+        return reply;
+    }
+
+    private Object call(Command command, Binding binding, Object toRun, Parameters parameters, PrintStream out) {
+        final Arguments parameterValues = new Arguments(command.parameterCount());
+        long start = listener == null ? 0 : System.nanoTime();
+        boolean closeInputs = true;
         try {
-            Method method = findMethod(publicMethods, methodName, parameters);
-            Object[] parameterValues = orderAndConvertParameterValues(method.getParameters(), parameters);
-            if (method.getReturnType() == Void.TYPE) {
-                method.invoke(toRun, parameterValues);
-            } else {
-                Object object = method.invoke(toRun, parameterValues);
-                System.out.println(object.toString());
+            orderAndConvertParameterValues(command, binding.converters(), parameters, parameterValues);
+            if (listener != null) {
+                start = lap(Phase.CONVERT, command.name(), start);
+            }
+            if (binding.memo() != null && out != null) {
+                callMemoized(command, binding, toRun, parameterValues, start, out);
+                return null;
+            }
+            final Object object = invoke(binding.invoker(), toRun, parameterValues);
+            if (listener != null) {
+                start = lap(Phase.INVOKE, command.name(), start);
+            }
+            if (!command.returnsVoid() && out != null) {
+                output.write(object, out);
+                if (listener != null) {
+                    lap(Phase.OUTPUT, command.name(), start);
+                }
+            } else if (out == null && binding.inputs().length > 0) {
+                closeInputs = false;
+                return handBack(object, new InputCloser(binding.inputs(), parameterValues, null));
+            }
+            return object;
+        } finally {
+            if (closeInputs) {
+                closeInputs(binding.inputs(), parameterValues);
+            }
+        }
+    }
+
+    /**
+     * Hands back the result of a call that read inputs. A stream or stage that may still read them closes them when it
+     * is done, and an {@link AutoCloseable} result is left to close what it reads; otherwise they are closed now.
+     */
+    private static Object handBack(Object object, InputCloser closer) {
+        if (object instanceof BaseStream<?, ?> stream) {
+            return stream.onClose(closer);
+        }
+        if (object instanceof CompletionStage<?> stage) {
+            return stage.whenComplete(closer);
+        }
+        if (!(object instanceof AutoCloseable)) {
+            closer.run();
+        }
+        return object;
+    }
+
+    /**
+     * Prints the remembered result when there is one. Otherwise the method is called and its result printed into a
+     * buffer first, so that exactly what was printed is remembered. Only printed results are remembered, so a call that
+     * just returns its result always calls the method.
+     */
+    private void callMemoized(Command command, Binding binding, Object toRun, Arguments parameterValues, long start, PrintStream out) {
+        final byte[] key = binding.memo().key(command, parameterValues);
+        final MemoStore memo = memoStore();
+        byte[] printed = memo.get(key);
+        if (printed == null) {
+            final Object object = invoke(binding.invoker(), toRun, parameterValues);
+            if (listener != null) {
+                start = lap(Phase.INVOKE, command.name(), start);
+            }
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            output.write(object, new PrintStream(buffer, false, Charset.defaultCharset()));
+            printed = buffer.toByteArray();
+            memo.put(key, printed, binding.memo().timeToLive());
+        }
+        out.write(printed, 0, printed.length);
+        out.flush();
+        if (listener != null) {
+            lap(Phase.OUTPUT, command.name(), start);
+        }
+    }
+
+    /**
+     * The store for {@link Memoize} results, created the first time one is looked up, so that commands without any do
+     * not even load it.
+     */
+    private MemoStore memoStore() {
+        MemoStore reply = memo;
+        if (reply == null) {
+            synchronized (this) {
+                reply = memo;
+                if (reply == null) {
+                    reply = new MemoStore(MemoStore.defaultFile(), MemoStore.DEFAULT_SIZE);
+                    memo = reply;
+                }
             }
+        }
+        return reply;
+    }
+
+    private Object dispatch(Dispatcher<Object> dispatcher, Object toRun, String methodName, Parameters parameters, PrintStream out) {
+        final List<AutoCloseable> opened = new ArrayList<>(0);
+        long start = listener == null ? 0 : System.nanoTime();
+        boolean closeInputs = true;
+        try {
+            final Object object;
+            try {
+                object = dispatcher.dispatch(toRun, methodName, parameters.values(), parameters.repeated(), converter, opened);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+            if (object == Dispatcher.NOT_FOUND) {
+                throw new IllegalArgumentException(buildMessage(methodName, dispatcher.methodNames()));
+            }
+            if (listener != null) {
+                start = lap(Phase.INVOKE, methodName, start);
+            }
+            if (object == Dispatcher.NO_RESULT) {
+                return null;
+            }
+            if (out != null) {
+                output.write(object, out);
+                if (listener != null) {
+                    lap(Phase.OUTPUT, methodName, start);
+                }
+            } else if (!opened.isEmpty()) {
+                closeInputs = false;
+                return handBack(object, new InputCloser(null, null, opened));
+            }
+            return object;
+        } finally {
+            if (closeInputs) {
+                close(opened);
+            }
+        }
+    }
+
+    private long lap(Phase phase, String methodName, long start) {
+        final long now = System.nanoTime();
+        listener.phaseCompleted(phase, methodName, now - start);
+        return now;
+    }
+
+    private Binding bind(Command command) {
+        final int[] inputs = inputs(command);
+        return new Binding(resolveConverters(command), invokers.bind(command.method()), inputs, memo(command, inputs, format));
+    }
+
+    private static Memo memo(Command command, int[] inputs, OutputFormat format) {
+        final Memoize memoize = command.method().getAnnotation(Memoize.class);
+        if (memoize == null) {
+            return null;
+        }
+        if (command.returnsVoid()) {
+            throw new IllegalArgumentException("@Memoize method \"" + command.name() + "\" returns nothing, so there is no result to remember");
+        }
+        for (int i = 0; i < command.parameterCount(); i++) {
+            if (Arrays.binarySearch(inputs, i) >= 0 || Buffer.class.isAssignableFrom(command.parameterType(i))) {
+                throw new IllegalArgumentException("Parameter \"" + command.parameterName(i) + "\" of @Memoize method \"" + command.name()
+                        + "\" is read as it is used, so its value cannot be remembered");
+            }
+            if (!hasStableKey(command.genericParameterType(i))) {
+                throw new IllegalArgumentException("Parameter \"" + command.parameterName(i) + "\" of @Memoize method \"" + command.name()
+                        + "\" has no value to remember it by, it should be a record, an enum or a JDK value type");
+            }
+        }
+        final Duration timeToLive = memoize.ttl().isEmpty() ? null : FireFlags.duration("The ttl of @Memoize method \"" + command.name() + "\"", memoize.ttl());
+        final String printedAs = command.method().toGenericString() + ' ' + format + ' ' + Charset.defaultCharset().name() + ' ' + System.lineSeparator();
+        return new Memo(printedAs.getBytes(StandardCharsets.UTF_8), timeToLive);
+    }
+
+    /**
+     * Whether every value of the type is written into a {@link Memo} key in full, so that two values with the same key
+     * are equal: JDK types with an {@code equals} of their own, enums, and records, collections and arrays of those.
+     * A {@link Supplier} is remembered by its input. Other classes are written through whichever getters they happen to
+     * have, or as their identity, so they are not.
+     */
+    private static boolean hasStableKey(Type type) {
+        if (type instanceof ParameterizedType parameterized) {
+            if (parameterized.getRawType() == Supplier.class) {
+                return true;
+            }
+            for (Type argument : parameterized.getActualTypeArguments()) {
+                if (!hasStableKey(argument)) {
+                    return false;
+                }
+            }
+            return isJdkValue((Class<?>) parameterized.getRawType());
+        }
+        if (type instanceof GenericArrayType array) {
+            return hasStableKey(array.getGenericComponentType());
+        }
+        if (!(type instanceof Class<?> raw)) {
+            return false;
+        }
+        if (raw.isArray()) {
+            return hasStableKey(raw.getComponentType());
+        }
+        if (raw.isPrimitive() || raw.isEnum() || raw == CharSequence.class || raw == Supplier.class) {
+            return true;
+        }
+        if (raw.isRecord()) {
+            for (RecordComponent component : raw.getRecordComponents()) {
+                if (!hasStableKey(component.getGenericType())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return raw.getTypeParameters().length == 0 && isJdkValue(raw);
+    }
+
+    private static boolean isJdkValue(Class<?> type) {
+        final String name = type.getName();
+        if (!name.startsWith("java.") && !name.startsWith("javax.") && !name.startsWith("jdk.")) {
+            return false;
+        }
+        try {
+            return type.getMethod("equals", Object.class).getDeclaringClass() != Object.class;
         } catch (NoSuchMethodException e) {
-            throw new IllegalArgumentException(buildMessage(e.getMessage(), publicMethods));
-        } catch (InvocationTargetException | IllegalAccessException e) {
-            throw new RuntimeException(e);
+            return false;
+        }
+    }
+
+    /**
+     * Parameters such as streams and readers are opened by their converters, so they are closed once the result
+     * has been written. A result handed back unwritten may still be reading them: a returned stream closes them when
+     * it is closed and a returned {@link CompletionStage} when it completes, while a returned reader or other
+     * {@link AutoCloseable} is expected to close what it reads when it is closed itself.
+     */
+    private int[] inputs(Command command) {
+        int count = 0;
+        final int[] reply = new int[command.parameterCount()];
+        for (int i = 0; i < reply.length; i++) {
+            final Class<?> type = command.parameterType(i);
+            if (InputStream.class.isAssignableFrom(type) || Reader.class.isAssignableFrom(type) || BaseStream.class.isAssignableFrom(type)) {
+                reply[count++] = i;
+            }
         }
+        return Arrays.copyOf(reply, count);
     }
 
-    private List<Method> collectPublicMethods(Class<?> target) {
-        List<String> objectLevelMethods = Arrays.stream(Object.class.getMethods()).map(Method::getName).collect(Collectors.toList());
-        Method[] methods = target.getMethods();
-        if (methods.length == 0) {
-            throw new IllegalArgumentException("There are no callable public methods on class: " + target.getCanonicalName());
+    private static void closeInputs(int[] inputs, Arguments parameterValues) {
+        for (int input : inputs) {
+            if (parameterValues.get(input) instanceof AutoCloseable closeable) {
+                close(closeable);
+            }
+        }
+    }
+
+    private static void close(List<AutoCloseable> inputs) {
+        for (AutoCloseable input : inputs) {
+            close(input);
+        }
+    }
+
+    private static void close(AutoCloseable input) {
+        try {
+            input.close();
+        } catch (Exception e) {
+            // nothing was written to it, so there is nothing to lose
         }
-        return Arrays.stream(methods).filter(method -> !objectLevelMethods.contains(method.getName())).collect(Collectors.toList());
     }
 
-    private Object[] orderAndConvertParameterValues(Parameter[] parameters, Map<String, String> parametersValues) {
-        LinkedList<Object> reply = new LinkedList<>();
-        for (Parameter parameter : parameters) {
-            final String parameterName = parameter.getName();
-            final String value = parametersValues.get(parameterName);
-            final Class<?> type = parameter.getType();
+    private Object invoke(Invoker invoker, Object toRun, Arguments parameterValues) {
+        try {
+            return invoker.invoke(toRun, parameterValues);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void orderAndConvertParameterValues(Command command, ParameterConverter[] converters, Parameters parameters, Arguments reply) {
+        final boolean repeated = !parameters.repeated().isEmpty();
+        for (int i = 0; i < converters.length; i++) {
+            final String parameterName = command.parameterName(i);
+            final List<String> values = repeated ? parameters.repeated().get(parameterName) : null;
+            if (values != null && !Converter.acceptsSeveralValues(command.parameterType(i))) {
+                throw new IllegalArgumentException(givenMoreThanOnce(parameterName));
+            }
             try {
-                Object convertedValue = converter.convert(value, type);
-                reply.add(convertedValue);
+                if (values == null) {
+                    converters[i].convert(parameters.values().get(parameterName), reply, i);
+                } else {
+                    reply.set(i, converter.convertEach(values, command.genericParameterType(i)));
+                }
             } catch (IllegalArgumentException e) {
-                throw new IllegalArgumentException(e.getMessage() + " for parameter: \"" + parameterName + "\". Please register converters for non basic objects");
+                throw conversionFailure(e, parameterName);
             }
         }
-        return reply.toArray(new Object[0]);
     }
 
-    private Map<String, String> parseParameters(List<String> arguments) {
-        return arguments.stream().map(argument -> argument.substring(2).split("=")).collect(Collectors.toMap(entry -> entry[0].trim(), entry -> entry[1].trim()));
+    private ParameterConverter[] resolveConverters(Command command) {
+        final ParameterConverter[] reply = new ParameterConverter[command.parameterCount()];
+        for (int i = 0; i < reply.length; i++) {
+            try {
+                reply[i] = parameterConverter(command.parameterType(i), command.genericParameterType(i));
+            } catch (IllegalArgumentException e) {
+                throw conversionFailure(e, command.parameterName(i));
+            }
+        }
+        return reply;
     }
 
-    private Method findMethod(List<Method> methods, String methodName, Map<String, String> parameters) throws NoSuchMethodException {
-        final List<Method> filtered = methods.stream().filter(m -> methodName.equals(m.getName()) && parametersEquals(m.getParameters(), parameters.keySet())).collect(Collectors.toList());
-        if (!filtered.isEmpty()) {
-            return filtered.get(0);
+    private ParameterConverter parameterConverter(Class<?> type, Type genericType) {
+        if (type == int.class) {
+            return new IntParameter(converter.intConverter());
+        }
+        if (type == long.class) {
+            return new LongParameter(converter.longConverter());
+        }
+        if (type == double.class) {
+            return new DoubleParameter(converter.doubleConverter());
+        }
+        if (type == boolean.class) {
+            return new BooleanParameter(converter.booleanConverter());
         }
-        throw new NoSuchMethodException(methodName);
+        return new ReferenceParameter(converter.converterFor(genericType));
     }
 
-    private boolean parametersEquals(Parameter[] parameters, Set<String> parameterNames) {
-        final HashSet<Object> toCompare = new HashSet<>();
-        final HashSet<Object> passedParameters = new HashSet<>(parameterNames);
-        Arrays.stream(parameters).forEach(parameter -> {
-            if (!parameter.isNamePresent()) {
-                throw new UnsupportedOperationException("""
-                        There are no parameter names in the compiled class files. \s
-                        You need to add the following to your build.gradle file:
-                        tasks.withType(JavaCompile) {
-                            options.compilerArgs << '-parameters'
-                        }""");
-            }
-            final String name = parameter.getName();
-            toCompare.add(name);
-        });
-        return toCompare.equals(passedParameters);
+    static IllegalArgumentException conversionFailure(IllegalArgumentException e, String parameterName) {
+        return new IllegalArgumentException(conversionMessage(e.getMessage(), parameterName));
+    }
+
+    static String conversionMessage(String message, String parameterName) {
+        return message + " for parameter: \"" + parameterName + "\". Please register converters for non basic objects";
     }
 
-    private String buildMessage(String methodName, List<Method> publicMethods) {
+    static String noPublicMethods(Class<?> type) {
+        return "There are no public methods in the class: " + type.getCanonicalName();
+    }
+
+    static String buildMessage(String methodName, List<String> publicMethods) {
         StringBuilder reply = new StringBuilder("Method \"").append(methodName).append("\" is not found").append(". \n")
                 .append("Public methods are: \"");
-        final Iterator<Method> iterator = publicMethods.iterator();
+        final Iterator<String> iterator = publicMethods.iterator();
         while (iterator.hasNext()) {
-            reply.append(iterator.next().getName());
+            reply.append(iterator.next());
             if (iterator.hasNext()) {
                 reply.append(", ");
             }
@@ -113,4 +563,269 @@ public final class InternalFire {
         return reply.toString();
     }
 
+    /**
+     * Closes the inputs of a call once the result it handed back, which may still be reading them, is done with: the
+     * {@code inputs} of the {@code parameterValues} of a reflective call, or what a {@link Dispatcher} {@code opened}.
+     */
+    private static final class InputCloser implements Runnable, BiConsumer<Object, Throwable> {
+        private final int[] inputs;
+        private final Arguments parameterValues;
+        private final List<AutoCloseable> opened;
+
+        private InputCloser(int[] inputs, Arguments parameterValues, List<AutoCloseable> opened) {
+            this.inputs = inputs;
+            this.parameterValues = parameterValues;
+            this.opened = opened;
+        }
+
+        @Override
+        public void run() {
+            if (opened == null) {
+                closeInputs(inputs, parameterValues);
+            } else {
+                close(opened);
+            }
+        }
+
+        @Override
+        public void accept(Object result, Throwable failure) {
+            run();
+        }
+    }
+
+    /**
+     * How an {@link InternalFire} converts, calls and prints, each setting left at its default unless given. Settings
+     * are not thread safe, but an {@link InternalFire} copies them when it is created.
+     */
+    public static final class Settings {
+        private final Map<Class<?>, TypeConverter> converters = new HashMap<>();
+        private InvokerFactory invokers = InvokerFactory.METHOD_HANDLE;
+        private FlushPolicy flushPolicy = FlushPolicy.firstThenWhenFull();
+        private Duration awaitTimeout;
+        private FireListener listener;
+        private OutputFormat format = OutputFormat.TEXT;
+        private MemoStore memo;
+
+        public Settings converter(Class<?> type, TypeConverter converter) {
+            converters.put(type, converter);
+            return this;
+        }
+
+        public Settings converters(Map<Class<?>, TypeConverter> additionalConverters) {
+            converters.putAll(additionalConverters);
+            return this;
+        }
+
+        /**
+         * How methods are called, {@link InvokerFactory#METHOD_HANDLE} unless given.
+         */
+        public Settings invokers(InvokerFactory invokers) {
+            this.invokers = invokers;
+            return this;
+        }
+
+        /**
+         * When streamed results are flushed, {@link FlushPolicy#firstThenWhenFull()} unless given.
+         */
+        public Settings flushPolicy(FlushPolicy flushPolicy) {
+            this.flushPolicy = flushPolicy;
+            return this;
+        }
+
+        /**
+         * How long to wait for a returned {@link java.util.concurrent.CompletionStage}, or null to wait until it
+         * completes.
+         */
+        public Settings awaitTimeout(Duration awaitTimeout) {
+            this.awaitTimeout = awaitTimeout;
+            return this;
+        }
+
+        /**
+         * Told how long each phase of every command took, or null to not time them at all.
+         */
+        public Settings listener(FireListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * How returned values are printed, {@link OutputFormat#TEXT} unless given.
+         */
+        public Settings format(OutputFormat format) {
+            this.format = format;
+            return this;
+        }
+
+        /**
+         * Where the results of {@link Memoize} methods are remembered, or null for a store in
+         * {@link MemoStore#defaultFile()} that is only created when such a method is first called.
+         */
+        public Settings memoStore(MemoStore memo) {
+            this.memo = memo;
+            return this;
+        }
+    }
+
+    private record Binding(ParameterConverter[] converters, Invoker invoker, int[] inputs, Memo memo) {
+    }
+
+    /**
+     * How the results of a {@link Memoize} method are remembered: keyed on its signature, on everything else that
+     * changes how its result is printed, and on the converted values of its parameters, written as JSON.
+     */
+    private record Memo(byte[] printedAs, Duration timeToLive) {
+
+        byte[] key(Command command, Arguments arguments) {
+            final ByteArrayOutputStream reply = new ByteArrayOutputStream();
+            reply.writeBytes(printedAs);
+            final RecordEncoder encoder = OutputFormat.JSONL.encoder(reply);
+            try {
+                for (int i = 0; i < arguments.size(); i++) {
+                    final Class<?> type = command.parameterType(i);
+                    if (type == int.class) {
+                        encoder.record(arguments.getInt(i));
+                    } else if (type == long.class) {
+                        encoder.record(arguments.getLong(i));
+                    } else if (type == double.class) {
+                        encoder.record(arguments.getDouble(i));
+                    } else if (type == boolean.class) {
+                        encoder.record(arguments.getBoolean(i));
+                    } else {
+                        encoder.record(arguments.get(i));
+                    }
+                }
+                encoder.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return reply.toByteArray();
+        }
+    }
+
+    /**
+     * The object that the rest of a command line is for, once the path leading to it has been followed.
+     */
+    record Target(Object object, String[] args) {
+    }
+
+    /**
+     * The values of the parameters of a command by name. A parameter given more than once has all of its values in
+     * {@code repeated}, in the order given, and the first of them in {@code values}.
+     */
+    record Parameters(Map<String, String> values, Map<String, List<String>> repeated) {
+
+        Set<String> names() {
+            return values.keySet();
+        }
+
+        /**
+         * These parameters with {@code name} set to the single {@code value}.
+         */
+        Parameters with(String name, String value) {
+            final Map<String, String> replaced = new HashMap<>(values);
+            replaced.put(name, value);
+            if (!repeated.containsKey(name)) {
+                return new Parameters(replaced, repeated);
+            }
+            final Map<String, List<String>> stillRepeated = new HashMap<>(repeated);
+            stillRepeated.remove(name);
+            return new Parameters(replaced, stillRepeated);
+        }
+    }
+
+    /**
+     * A resolved method, ready to be called with the values for its parameters.
+     */
+    @FunctionalInterface
+    interface Call {
+        /**
+         * Calls the method and returns its result, printing it to {@code out} as well unless {@code out} is null.
+         */
+        Object call(Parameters parameters, PrintStream out);
+
+        default void run(Parameters parameters) {
+            call(parameters, System.out);
+        }
+    }
+
+    private final class BoundCall implements Call {
+        private final Command command;
+        private final Binding binding;
+        private final Object toRun;
+
+        private BoundCall(Command command, Binding binding, Object toRun) {
+            this.command = command;
+            this.binding = binding;
+            this.toRun = toRun;
+        }
+
+        @Override
+        public Object call(Parameters parameters, PrintStream out) {
+            return InternalFire.this.call(command, binding, toRun, parameters, out);
+        }
+    }
+
+    private record PreparedCall(Call call, Parameters parameters) implements Runnable {
+        @Override
+        public void run() {
+            call.run(parameters);
+        }
+    }
+
+    private final class DispatchedCall implements Call {
+        private final Dispatcher<Object> dispatcher;
+        private final Object toRun;
+        private final String methodName;
+
+        private DispatchedCall(Dispatcher<Object> dispatcher, Object toRun, String methodName) {
+            this.dispatcher = dispatcher;
+            this.toRun = toRun;
+            this.methodName = methodName;
+        }
+
+        @Override
+        public Object call(Parameters parameters, PrintStream out) {
+            return dispatch(dispatcher, toRun, methodName, parameters, out);
+        }
+    }
+
+    private interface ParameterConverter {
+        void convert(String value, Arguments arguments, int index);
+    }
+
+    private record IntParameter(IntConverter ints) implements ParameterConverter {
+        @Override
+        public void convert(String value, Arguments arguments, int index) {
+            arguments.setInt(index, ints.convert(value));
+        }
+    }
+
+    private record LongParameter(LongConverter longs) implements ParameterConverter {
+        @Override
+        public void convert(String value, Arguments arguments, int index) {
+            arguments.setLong(index, longs.convert(value));
+        }
+    }
+
+    private record DoubleParameter(DoubleConverter doubles) implements ParameterConverter {
+        @Override
+        public void convert(String value, Arguments arguments, int index) {
+            arguments.setDouble(index, doubles.convert(value));
+        }
+    }
+
+    private record BooleanParameter(BooleanConverter booleans) implements ParameterConverter {
+        @Override
+        public void convert(String value, Arguments arguments, int index) {
+            arguments.setBoolean(index, booleans.convert(value));
+        }
+    }
+
+    private record ReferenceParameter(TypeConverter references) implements ParameterConverter {
+        @Override
+        public void convert(String value, Arguments arguments, int index) {
+            arguments.set(index, references.convert(value));
+        }
+    }
 }
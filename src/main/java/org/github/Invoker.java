@@ -0,0 +1,9 @@
+package org.github;
+
+/**
+ * A public method bound once for repeated calls. Exceptions thrown by the called method are rethrown as they are.
+ */
+@FunctionalInterface
+public interface Invoker {
+    Object invoke(Object target, Arguments arguments) throws Throwable;
+}
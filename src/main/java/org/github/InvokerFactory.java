@@ -0,0 +1,27 @@
+package org.github;
+
+import java.lang.reflect.Method;
+
+/**
+ * Decides how a resolved method is called. Each method is bound once per {@link InternalFire} and the
+ * resulting {@link Invoker} is reused for every later call. {@link #REFLECTIVE} starts up faster, so suits a single
+ * call, while {@link #METHOD_HANDLE} is faster once warmed up, for batches and servers.
+ */
+@FunctionalInterface
+public interface InvokerFactory {
+
+    InvokerFactory REFLECTIVE = new InvokerFactory() {
+        @Override
+        public Invoker bind(Method method) {
+            return new ReflectiveInvoker(method);
+        }
+    };
+    InvokerFactory METHOD_HANDLE = new InvokerFactory() {
+        @Override
+        public Invoker bind(Method method) {
+            return new MethodHandleInvoker(method);
+        }
+    };
+
+    Invoker bind(Method method);
+}
@@ -1,23 +1,153 @@
 package org.github;
 
 import org.github.converter.TypeConverter;
+import org.github.daemon.FireServer;
+import org.github.memo.MemoStore;
+import org.github.output.OutputFormat;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class JFire {
 
+    /**
+     * Calls a command of one of the {@link FireCommand} classes on the class path, picked by the first argument:
+     * {@code java -classpath <jar_files> org.github.JFire users list --limit=10}. Only the picked class is loaded.
+     */
+    public static void main(String... args) {
+        final Object target;
+        try {
+            final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            final CommandRegistry registry = CommandRegistry.load(loader == null ? JFire.class.getClassLoader() : loader);
+            target = registry.create(args.length == 0 || FireFlags.SEPARATOR.equals(args[0]) ? null : args[0]);
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.exit(-1);
+            return;
+        }
+        fire(target, Arrays.copyOfRange(args, 1, args.length));
+    }
+
     public static void fire(Object object, String... args) {
         fire(object, new HashMap<>(), args);
     }
 
     public static void fire(Object object, Map<Class<?>, TypeConverter> converters, String... args) {
-        final InternalFire fire = new InternalFire(converters);
+        PhaseTimings timings = null;
         try {
-            fire.fire(object, args);
+            final FireFlags flags = FireFlags.split(args);
+            timings = flags.has("timings") ? new PhaseTimings() : null;
+            final InternalFire fire = new InternalFire(new InternalFire.Settings()
+                    .converters(converters)
+                    .invokers(invokers(flags))
+                    .flushPolicy(FlushPolicy.named(flags.get("flush", null)))
+                    .awaitTimeout(flags.duration("timeout"))
+                    .listener(listener(flags, timings))
+                    .format(OutputFormat.named(flags.get("format", null)))
+                    .memoStore(memoStore(flags)));
+            final boolean succeeded;
+            if (flags.has("validate")) {
+                succeeded = validate(fire, object, flags);
+            } else if (flags.has("batch")) {
+                succeeded = batch(fire, object, flags.get("batch", "-"));
+            } else if (flags.has("fan-out")) {
+                succeeded = fanOut(fire, object, flags);
+            } else if (flags.has("serve")) {
+                serve(fire, object, flags.get("serve", "jfire.sock"));
+                succeeded = true;
+            } else {
+                fire.fire(object, flags.command());
+                succeeded = true;
+            }
+            printTimings(timings);
+            if (!succeeded) {
+                System.exit(-1);
+            }
         } catch (Exception e) {
             System.err.println(e.getMessage());
+            printTimings(timings);
             System.exit(-1);
         }
     }
+
+    /**
+     * A single call is over before method handles would pay for the time it takes to set them up.
+     */
+    private static InvokerFactory invokers(FireFlags flags) {
+        return flags.has("batch") || flags.has("fan-out") || flags.has("serve") ? InvokerFactory.METHOD_HANDLE : InvokerFactory.REFLECTIVE;
+    }
+
+    /**
+     * Phases are only timed for {@code --timings}, or recorded for Flight Recorder for {@code --jfr}. Asking Flight
+     * Recorder whether it is recording would load it on every run, so it is only used when asked for.
+     */
+    private static FireListener listener(FireFlags flags, PhaseTimings timings) {
+        if (flags.has("jfr") && ModuleLayer.boot().findModule("jdk.jfr").isPresent()) {
+            return timings == null ? FireListener.flightRecorder() : FireListener.flightRecorder().andThen(timings);
+        }
+        return timings;
+    }
+
+    /**
+     * The store for {@code --cache=file}, or null for the default one, which is only created if a {@link Memoize}
+     * method is called.
+     */
+    private static MemoStore memoStore(FireFlags flags) {
+        return flags.has("cache") ? new MemoStore(Path.of(flags.get("cache", MemoStore.defaultFile().toString())), MemoStore.DEFAULT_SIZE) : null;
+    }
+
+    private static void printTimings(PhaseTimings timings) {
+        if (timings != null) {
+            timings.print(System.err);
+        }
+    }
+
+    private static boolean batch(InternalFire fire, Object object, String source) throws IOException {
+        final Batch.Report report;
+        try (BufferedReader lines = "-".equals(source)
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : Files.newBufferedReader(Path.of(source))) {
+            report = new Batch(fire, System.err).run(object, lines);
+        }
+        return report.failed() == 0;
+    }
+
+    /**
+     * Checks the batch, or the command, without calling anything, reporting every problem on stderr.
+     */
+    private static boolean validate(InternalFire fire, Object object, FireFlags flags) throws IOException, InterruptedException {
+        if (!flags.has("batch")) {
+            final List<Diagnostic> diagnostics = fire.validate(object, flags.command());
+            for (Diagnostic diagnostic : diagnostics) {
+                System.err.println(diagnostic);
+            }
+            return diagnostics.isEmpty();
+        }
+        final String source = flags.get("batch", "-");
+        final int parallelism = Integer.parseInt(flags.get("parallelism", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        try (BufferedReader lines = "-".equals(source)
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : Files.newBufferedReader(Path.of(source))) {
+            return new Batch(fire, System.err).validate(object, lines, parallelism).valid();
+        }
+    }
+
+    private static boolean fanOut(InternalFire fire, Object object, FireFlags flags) throws InterruptedException {
+        final int parallelism = Integer.parseInt(flags.get("parallelism", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        final FanOut.Report report = new FanOut(fire, parallelism, System.err).run(object, flags.get("fan-out", null), flags.command());
+        return report.failures().isEmpty();
+    }
+
+    private static void serve(InternalFire fire, Object object, String socket) throws IOException {
+        try (FireServer server = new FireServer(fire, object, Path.of(socket))) {
+            server.serve();
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package org.github;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a pure, expensive method whose printed result is remembered on disk, so calling it again with the same
+ * converted parameter values prints the remembered result without calling the method. Results are kept in a
+ * {@link org.github.memo.MemoStore}, shared by every run, until their time to live is up or they are the least
+ * recently used ones when the store is full.
+ * <p>
+ * Only the returned value is remembered, not what the method prints itself, so the method must return its result.
+ * Parameters are remembered by their value: a {@code Path} by its name rather than the contents of the file, and
+ * streams, readers and buffers cannot be used at all.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Memoize {
+
+    /**
+     * How long a result is used for, such as {@code 30s}, {@code 10m}, {@code 12h} or {@code P7D}. Empty to keep it
+     * until it is evicted.
+     */
+    String ttl() default "";
+}
@@ -0,0 +1,73 @@
+package org.github;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Binds the method to a handle which reads each parameter straight out of {@link Arguments},
+ * so primitive parameters are never boxed on the way in.
+ */
+final class MethodHandleInvoker implements Invoker {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Arguments.class);
+    private static final MethodHandle GET_INT = getter("getInt", int.class);
+    private static final MethodHandle GET_LONG = getter("getLong", long.class);
+    private static final MethodHandle GET_DOUBLE = getter("getDouble", double.class);
+    private static final MethodHandle GET_BOOLEAN = getter("getBoolean", boolean.class);
+    private static final MethodHandle GET = getter("get", Object.class);
+
+    private final MethodHandle handle;
+
+    MethodHandleInvoker(Method method) {
+        MethodHandle unreflected;
+        try {
+            unreflected = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            unreflected = MethodHandles.dropArguments(unreflected, 0, Object.class);
+        }
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        MethodHandle reply = unreflected.asType(unreflected.type().changeParameterType(0, Object.class).changeReturnType(Object.class));
+        final int[] reorder = new int[parameterTypes.length + 1];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            reply = MethodHandles.filterArguments(reply, i + 1, parameterGetter(parameterTypes[i], i));
+            reorder[i + 1] = 1;
+        }
+        handle = MethodHandles.permuteArguments(reply, INVOKER_TYPE, reorder);
+    }
+
+    @Override
+    public Object invoke(Object target, Arguments arguments) throws Throwable {
+        return handle.invokeExact(target, arguments);
+    }
+
+    private static MethodHandle parameterGetter(Class<?> type, int index) {
+        final MethodHandle getter;
+        if (type == int.class) {
+            getter = GET_INT;
+        } else if (type == long.class) {
+            getter = GET_LONG;
+        } else if (type == double.class) {
+            getter = GET_DOUBLE;
+        } else if (type == boolean.class) {
+            getter = GET_BOOLEAN;
+        } else {
+            getter = GET;
+        }
+        final MethodHandle reply = MethodHandles.insertArguments(getter, 1, index);
+        return reply.asType(reply.type().changeReturnType(type));
+    }
+
+    private static MethodHandle getter(String name, Class<?> type) {
+        try {
+            return MethodHandles.lookup().findVirtual(Arguments.class, name, MethodType.methodType(type, int.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
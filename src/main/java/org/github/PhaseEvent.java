@@ -0,0 +1,44 @@
+package org.github;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One phase of one command, as seen by JDK Flight Recorder. The event is committed once the phase is over, so the
+ * time it took is in {@link #elapsed} rather than in the event's own duration.
+ */
+@Name("org.github.jfire.Phase")
+@Label("JFire Phase")
+@Category("JFire")
+@Description("Time taken by one phase of a command called through JFire")
+@StackTrace(false)
+final class PhaseEvent extends Event {
+
+    @Label("Method")
+    String methodName;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    static final class Listener implements FireListener {
+        @Override
+        public void phaseCompleted(Phase phase, String methodName, long elapsedNanos) {
+            final PhaseEvent event = new PhaseEvent();
+            if (event.isEnabled()) {
+                event.methodName = methodName;
+                event.phase = phase.name();
+                event.elapsed = elapsedNanos;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.github;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Adds up how often each phase ran and how long it took in total, for the {@code --timings} summary.
+ */
+final class PhaseTimings implements FireListener {
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final AtomicLongArray counts = new AtomicLongArray(PHASES.length);
+    private final AtomicLongArray nanos = new AtomicLongArray(PHASES.length);
+
+    @Override
+    public void phaseCompleted(Phase phase, String methodName, long elapsedNanos) {
+        counts.incrementAndGet(phase.ordinal());
+        nanos.addAndGet(phase.ordinal(), elapsedNanos);
+    }
+
+    long count(Phase phase) {
+        return counts.get(phase.ordinal());
+    }
+
+    long nanos(Phase phase) {
+        return nanos.get(phase.ordinal());
+    }
+
+    void print(PrintStream out) {
+        out.println(String.format("%-8s %10s %12s %12s", "phase", "count", "total ms", "mean us"));
+        long total = 0;
+        for (Phase phase : PHASES) {
+            final long count = count(phase);
+            final long elapsed = nanos(phase);
+            total += elapsed;
+            out.println(String.format("%-8s %10d %12.3f %12.3f", phase.name().toLowerCase(), count, elapsed / 1e6, count == 0 ? 0.0 : elapsed / 1e3 / count));
+        }
+        out.println(String.format("%-8s %10s %12.3f", "total", "", total / 1e6));
+    }
+}
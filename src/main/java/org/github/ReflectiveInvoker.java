@@ -0,0 +1,24 @@
+package org.github;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+final class ReflectiveInvoker implements Invoker {
+
+    private final Method method;
+    private final Class<?>[] parameterTypes;
+
+    ReflectiveInvoker(Method method) {
+        this.method = method;
+        parameterTypes = method.getParameterTypes();
+    }
+
+    @Override
+    public Object invoke(Object target, Arguments arguments) throws Throwable {
+        try {
+            return method.invoke(target, arguments.toArray(parameterTypes));
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
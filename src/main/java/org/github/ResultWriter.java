@@ -0,0 +1,156 @@
+package org.github;
+
+import org.github.output.OutputFormat;
+import org.github.output.RecordEncoder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.BaseStream;
+
+/**
+ * Prints the value returned by a command. A {@link java.util.stream.Stream}, {@link Iterator}, {@link Collection} or
+ * array is written one element per line as it is consumed, so nothing is collected in memory and the first lines show
+ * up straight away. Writing stops early when the reader goes away, e.g. when piping into {@code head}.
+ * Each element, or a single returned value, is one record of the {@link OutputFormat}. Other {@link Iterable}s, such
+ * as a {@link java.nio.file.Path}, are single values.
+ * <p>
+ * A {@link CompletionStage} is waited for, up to the timeout when there is one, and its value is written as above.
+ * A stage that completes without a value prints nothing.
+ */
+final class ResultWriter {
+
+    private static final int CLOSED_CHECK_INTERVAL = 1024;
+
+    private final FlushPolicy flushPolicy;
+    private final Duration awaitTimeout;
+    private final OutputFormat format;
+
+    ResultWriter(FlushPolicy flushPolicy) {
+        this(flushPolicy, null, OutputFormat.TEXT);
+    }
+
+    ResultWriter(FlushPolicy flushPolicy, Duration awaitTimeout) {
+        this(flushPolicy, awaitTimeout, OutputFormat.TEXT);
+    }
+
+    ResultWriter(FlushPolicy flushPolicy, Duration awaitTimeout, OutputFormat format) {
+        this.flushPolicy = flushPolicy;
+        this.awaitTimeout = awaitTimeout;
+        this.format = format;
+    }
+
+    void write(Object result) {
+        write(result, System.out);
+    }
+
+    void write(Object result, PrintStream out) {
+        if (result instanceof CompletionStage<?> stage) {
+            final Object value = await(stage.toCompletableFuture());
+            if (value != null) {
+                write(value, out);
+            }
+        } else if (result instanceof BaseStream<?, ?> stream) {
+            try (stream) {
+                writeElements(out, stream.iterator());
+            }
+        } else if (result instanceof Iterator<?> iterator) {
+            writeElements(out, iterator);
+        } else if (result instanceof Collection<?> collection) {
+            writeElements(out, collection.iterator());
+        } else if (result != null && result.getClass().isArray()) {
+            writeArray(out, result);
+        } else if (format == OutputFormat.TEXT) {
+            out.println(String.valueOf(result));
+        } else {
+            writeRecord(out, result);
+        }
+    }
+
+    private Object await(CompletableFuture<?> future) {
+        try {
+            return awaitTimeout == null ? future.get() : future.get(awaitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(cause);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RuntimeException("No result after waiting " + awaitTimeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void writeElements(PrintStream out, Iterator<?> elements) {
+        final RecordEncoder encoder = format.encoder(out);
+        long written = 0;
+        try {
+            while (elements.hasNext()) {
+                encoder.record(elements.next());
+                if (stopAfter(++written, encoder, out)) {
+                    return;
+                }
+            }
+            encoder.flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void writeArray(PrintStream out, Object array) {
+        final RecordEncoder encoder = format.encoder(out);
+        final int length = Array.getLength(array);
+        try {
+            for (int i = 0; i < length; i++) {
+                if (array instanceof int[] ints) {
+                    encoder.record(ints[i]);
+                } else if (array instanceof long[] longs) {
+                    encoder.record(longs[i]);
+                } else if (array instanceof double[] doubles) {
+                    encoder.record(doubles[i]);
+                } else {
+                    encoder.record(Array.get(array, i));
+                }
+                if (stopAfter(i + 1L, encoder, out)) {
+                    return;
+                }
+            }
+            encoder.flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void writeRecord(PrintStream out, Object result) {
+        final RecordEncoder encoder = format.encoder(out);
+        try {
+            encoder.record(result);
+            encoder.flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private boolean stopAfter(long written, RecordEncoder encoder, PrintStream out) throws IOException {
+        if (flushPolicy.shouldFlush(written)) {
+            encoder.flush();
+            return out.checkError();
+        }
+        return written % CLOSED_CHECK_INTERVAL == 0 && out.checkError();
+    }
+}
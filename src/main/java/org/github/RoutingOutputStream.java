@@ -0,0 +1,47 @@
+package org.github;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Sends what each thread writes to the stream routed for that thread, e.g. behind {@code System.out}, so the output of
+ * commands running side by side can be kept apart. Threads started by a routed thread inherit its route, and threads
+ * without a route write to the fallback stream.
+ */
+public final class RoutingOutputStream extends OutputStream {
+
+    private final OutputStream fallback;
+    private final InheritableThreadLocal<OutputStream> route = new InheritableThreadLocal<>();
+
+    public RoutingOutputStream(OutputStream fallback) {
+        this.fallback = fallback;
+    }
+
+    public void route(OutputStream out) {
+        if (out == null) {
+            route.remove();
+        } else {
+            route.set(out);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        current().write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        current().write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        current().flush();
+    }
+
+    private OutputStream current() {
+        final OutputStream reply = route.get();
+        return reply == null ? fallback : reply;
+    }
+}
@@ -0,0 +1,338 @@
+package org.github;
+
+import org.github.converter.Converter;
+import org.github.converter.TypeConverter;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.Buffer;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+
+/**
+ * Checks commands the way {@link InternalFire} would run them, but reports each problem as a {@link Diagnostic}
+ * instead of throwing, so checking a file with many bad lines costs no more than checking one with good lines.
+ * Commands are resolved through the same {@link CommandLine} and {@link CommandIndex} steps that {@link InternalFire}
+ * uses, so the two cannot disagree on what a line calls. Converters that do not exist are remembered by
+ * {@link Converter#find}, and a value that does not convert throws without a stack trace.
+ * <p>
+ * Holds no state of its own, so one validator can check lines on several threads at once.
+ */
+final class Validator {
+
+    private static final String FILE_PREFIX = "@";
+    private static final int MAX_SUGGESTIONS = 3;
+
+    private final Converter converter;
+
+    Validator(Converter converter) {
+        this.converter = converter;
+    }
+
+    List<Diagnostic> validate(int line, Object toRun, String... args) {
+        final List<Diagnostic> reply = new ArrayList<>(0);
+        for (String[] command : ConcurrentCommands.split(args)) {
+            validateCommand(line, toRun, command, reply);
+        }
+        return reply;
+    }
+
+    private void validateCommand(int line, Object toRun, String[] args, List<Diagnostic> reply) {
+        if (args.length == 0) {
+            reply.add(new Diagnostic(line, "Please pass the public method name that you would like to call", List.of()));
+            return;
+        }
+        Object object = toRun;
+        Class<?> type = toRun.getClass();
+        int next = 0;
+        while (CommandLine.leadsOn(args, next)) {
+            final CommandIndex index = CommandIndex.of(type);
+            final Field field = index.subCommandField(args[next]);
+            final Type memberType;
+            Object value = null;
+            if (field != null) {
+                memberType = field.getGenericType();
+                if (object != null) {
+                    try {
+                        value = field.get(object);
+                    } catch (IllegalAccessException e) {
+                        reply.add(new Diagnostic(line, "Cannot read the field \"" + args[next] + "\" of " + type.getCanonicalName(), List.of()));
+                        return;
+                    }
+                    if (value == null) {
+                        reply.add(new Diagnostic(line, "\"" + args[next] + "\" is null, so \"" + args[next + 1] + "\" cannot be called on it", List.of()));
+                        return;
+                    }
+                }
+            } else {
+                final Command accessor = index.accessor(args[next]);
+                if (accessor == null) {
+                    break;
+                }
+                memberType = accessor.method().getGenericReturnType();
+            }
+            if (value != null && !(value instanceof Supplier<?>)) {
+                object = value;
+                type = value.getClass();
+            } else {
+                object = null;
+                type = rawType(supplied(memberType));
+            }
+            next++;
+        }
+        validateMethod(line, type, next == 0 ? args : Arrays.copyOfRange(args, next, args.length), reply);
+    }
+
+    private void validateMethod(int line, Class<?> type, String[] args, List<Diagnostic> reply) {
+        final CommandIndex index = CommandIndex.of(type);
+        if (index.isEmpty()) {
+            reply.add(new Diagnostic(line, InternalFire.noPublicMethods(type), List.of()));
+            return;
+        }
+        final CommandLine commandLine = CommandLine.parse(args);
+        final String methodName = commandLine.methodName();
+        if (!index.methodNames().contains(methodName)) {
+            reply.add(new Diagnostic(line, InternalFire.buildMessage(methodName, index.methodNames()), closest(methodName, index.methodNames())));
+            return;
+        }
+        if (!index.hasParameterNames(methodName)) {
+            validateDispatched(line, type, commandLine, reply);
+            return;
+        }
+        final List<Command> overloads = index.overloads(methodName, commandLine.named().keySet(), commandLine.positional().size());
+        if (overloads.size() > 1) {
+            reply.add(new Diagnostic(line, CommandIndex.ambiguous(methodName, commandLine.positional().size()), List.of()));
+            return;
+        }
+        if (overloads.isEmpty()) {
+            parameterMismatch(line, index.overloads(methodName), commandLine, reply);
+            return;
+        }
+        final Command command = overloads.get(0);
+        final Map<String, String> values = commandLine.parametersOf(command);
+        for (int i = 0; i < command.parameterCount(); i++) {
+            final String name = command.parameterName(i);
+            final List<String> repeated = commandLine.repeated().get(name);
+            if (repeated == null) {
+                validateValue(line, name, command.genericParameterType(i), values.get(name), reply);
+            } else if (Converter.acceptsSeveralValues(command.parameterType(i))) {
+                validateValues(line, name, command.genericParameterType(i), repeated, reply);
+            } else {
+                reply.add(new Diagnostic(line, InternalFire.givenMoreThanOnce(name), List.of()));
+            }
+        }
+    }
+
+    /**
+     * A method compiled without parameter names can only be called through a generated {@link Dispatcher}, which is
+     * asked whether it takes the named parameters. Their values are converted by the dispatcher as it calls the
+     * method, so they are not checked here.
+     */
+    private static void validateDispatched(int line, Class<?> type, CommandLine commandLine, List<Diagnostic> reply) {
+        final Dispatcher<Object> dispatcher = Dispatchers.find(type);
+        if (dispatcher == null) {
+            reply.add(new Diagnostic(line, CommandIndex.MISSING_PARAMETER_NAMES, List.of()));
+        } else if (commandLine.positional().isEmpty() && !dispatcher.accepts(commandLine.methodName(), commandLine.named().keySet())) {
+            reply.add(new Diagnostic(line, InternalFire.buildMessage(commandLine.methodName(), dispatcher.methodNames()), List.of()));
+        }
+    }
+
+    /**
+     * Reports each parameter name that no overload has, with the closest names it does have, or else the parameters
+     * each overload takes.
+     */
+    private static void parameterMismatch(int line, List<Command> overloads, CommandLine commandLine, List<Diagnostic> reply) {
+        final Set<String> known = new TreeSet<>();
+        for (Command command : overloads) {
+            for (int i = 0; i < command.parameterCount(); i++) {
+                known.add(command.parameterName(i));
+            }
+        }
+        final String methodName = commandLine.methodName();
+        boolean unknown = false;
+        for (String name : new TreeSet<>(commandLine.named().keySet())) {
+            if (!known.contains(name)) {
+                unknown = true;
+                final List<String> suggestions = new ArrayList<>();
+                for (String suggestion : closest(name, known)) {
+                    suggestions.add("--" + suggestion);
+                }
+                reply.add(new Diagnostic(line, "Method \"" + methodName + "\" has no parameter \"--" + name + "\"", suggestions));
+            }
+        }
+        if (unknown) {
+            return;
+        }
+        final StringJoiner takes = new StringJoiner(" or ");
+        for (Command command : overloads) {
+            final StringJoiner parameters = new StringJoiner(", ", "\"", "\"");
+            for (int i = 0; i < command.parameterCount(); i++) {
+                parameters.add("--" + command.parameterName(i));
+            }
+            takes.add(command.parameterCount() == 0 ? "no parameters" : parameters.toString());
+        }
+        final int given = commandLine.named().size() + commandLine.positional().size();
+        reply.add(new Diagnostic(line, "Method \"" + methodName + "\" cannot be called with " + given
+                + (given == 1 ? " parameter" : " parameters") + ", it takes " + takes, List.of()));
+    }
+
+    /**
+     * Converts the value and drops it. Values that are read as they are used are not converted, as that would open
+     * them; only a file they name is checked to be readable. A {@link Supplier} is checked by converting its value.
+     */
+    private void validateValue(int line, String name, Type genericType, String value, List<Diagnostic> reply) {
+        final Type type = supplied(genericType);
+        final Class<?> raw = rawType(type);
+        if (readAsUsed(raw)) {
+            final String unreadable = unreadable(value);
+            if (unreadable != null) {
+                reply.add(new Diagnostic(line, InternalFire.conversionMessage(unreadable, name), List.of()));
+            }
+            return;
+        }
+        final TypeConverter typeConverter = converter.find(type);
+        if (typeConverter == null) {
+            reply.add(new Diagnostic(line, InternalFire.conversionMessage("Unable to convert " + type.getTypeName(), name), List.of()));
+            return;
+        }
+        try {
+            typeConverter.convert(value);
+        } catch (RuntimeException e) {
+            reply.add(new Diagnostic(line, InternalFire.conversionMessage(String.valueOf(e.getMessage()), name), List.of()));
+        }
+    }
+
+    /**
+     * Converts each value of a parameter that was given more than once, as {@link Converter#convertEach} does.
+     */
+    private void validateValues(int line, String name, Type type, List<String> values, List<Diagnostic> reply) {
+        if (converter.find(type) == null) {
+            reply.add(new Diagnostic(line, InternalFire.conversionMessage("Unable to convert " + type.getTypeName(), name), List.of()));
+            return;
+        }
+        try {
+            converter.convertEach(values, type);
+        } catch (RuntimeException e) {
+            reply.add(new Diagnostic(line, InternalFire.conversionMessage(String.valueOf(e.getMessage()), name), List.of()));
+        }
+    }
+
+    private static boolean readAsUsed(Class<?> type) {
+        return InputStream.class.isAssignableFrom(type) || Reader.class.isAssignableFrom(type)
+                || BaseStream.class.isAssignableFrom(type) || Buffer.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Why the file named by {@code value} cannot be read, or null when it can or the value is not a file name.
+     */
+    private static String unreadable(String value) {
+        if (!value.startsWith(FILE_PREFIX)) {
+            return null;
+        }
+        final Path file;
+        try {
+            file = Path.of(value.substring(FILE_PREFIX.length()));
+        } catch (InvalidPathException e) {
+            return "Cannot convert value \"" + value + "\" to a path";
+        }
+        return Files.isReadable(file) ? null : "Cannot read file " + file;
+    }
+
+    /**
+     * The type a {@link Supplier} supplies, or {@code type} itself.
+     */
+    private static Type supplied(Type type) {
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() == Supplier.class) {
+            return parameterized.getActualTypeArguments()[0];
+        }
+        return type == Supplier.class ? Object.class : type;
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class<?> raw) {
+            return raw;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return (Class<?>) parameterized.getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            return Object[].class;
+        }
+        return Object.class;
+    }
+
+    /**
+     * Up to {@value #MAX_SUGGESTIONS} of {@code candidates} within a few edits of {@code word}, ignoring case, closest
+     * first. Swapping two neighbouring letters counts as one edit.
+     */
+    static List<String> closest(String word, Collection<String> candidates) {
+        final int limit = Math.max(2, word.length() / 3);
+        final TreeMap<Integer, Set<String>> byDistance = new TreeMap<>();
+        for (String candidate : candidates) {
+            final int distance = distance(word.toLowerCase(Locale.ROOT), candidate.toLowerCase(Locale.ROOT), limit);
+            if (distance <= limit) {
+                Set<String> same = byDistance.get(distance);
+                if (same == null) {
+                    same = new TreeSet<>();
+                    byDistance.put(distance, same);
+                }
+                same.add(candidate);
+            }
+        }
+        final List<String> reply = new ArrayList<>(MAX_SUGGESTIONS);
+        for (Set<String> same : byDistance.values()) {
+            for (String candidate : same) {
+                if (reply.size() == MAX_SUGGESTIONS) {
+                    return reply;
+                }
+                reply.add(candidate);
+            }
+        }
+        return reply;
+    }
+
+    /**
+     * The optimal string alignment distance between {@code a} and {@code b}, or {@code limit + 1} as soon as it is known
+     * to be more than {@code limit}.
+     */
+    static int distance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        int[] next = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            current[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            final int[] swap = previous;
+            previous = current;
+            current = next;
+            next = swap;
+            current[0] = i;
+            int best = i;
+            for (int j = 1; j <= b.length(); j++) {
+                final int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, next[j - 2] + 1);
+                }
+                current[j] = value;
+                best = Math.min(best, value);
+            }
+            if (best > limit) {
+                return limit + 1;
+            }
+        }
+        return current[b.length()];
+    }
+}
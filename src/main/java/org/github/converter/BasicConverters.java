@@ -0,0 +1,66 @@
+package org.github.converter;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * The converters that are there without being registered, shared by every {@link Converter}.
+ */
+enum BasicConverters implements TypeConverter {
+    BOOLEAN, INT, LONG, DOUBLE, STRING, PATH, BYTE_BUFFER, MAPPED_BYTE_BUFFER, INPUT_STREAM, READER;
+
+    private static final Map<Class<?>, BasicConverters> BY_TYPE = Map.ofEntries(
+            Map.entry(Boolean.TYPE, BOOLEAN),
+            Map.entry(Boolean.class, BOOLEAN),
+            Map.entry(Integer.TYPE, INT),
+            Map.entry(Integer.class, INT),
+            Map.entry(Long.TYPE, LONG),
+            Map.entry(Long.class, LONG),
+            Map.entry(Double.TYPE, DOUBLE),
+            Map.entry(Double.class, DOUBLE),
+            Map.entry(String.class, STRING),
+            Map.entry(Path.class, PATH),
+            Map.entry(ByteBuffer.class, BYTE_BUFFER),
+            Map.entry(MappedByteBuffer.class, MAPPED_BYTE_BUFFER),
+            Map.entry(InputStream.class, INPUT_STREAM),
+            Map.entry(Reader.class, READER),
+            Map.entry(BufferedReader.class, READER));
+
+    /**
+     * Returns null for types without a basic converter.
+     */
+    static TypeConverter of(Class<?> type) {
+        return BY_TYPE.get(type);
+    }
+
+    @Override
+    public Object convert(String value) {
+        switch (this) {
+            case BOOLEAN:
+                return Converter.parseBoolean(value);
+            case INT:
+                return Converter.parseInt(value);
+            case LONG:
+                return Converter.parseLong(value);
+            case DOUBLE:
+                return Converter.parseDouble(value);
+            case STRING:
+                return value;
+            case PATH:
+                return InputConverters.path(value);
+            case BYTE_BUFFER:
+                return InputConverters.byteBuffer(value);
+            case MAPPED_BYTE_BUFFER:
+                return InputConverters.mappedByteBuffer(value);
+            case INPUT_STREAM:
+                return InputConverters.inputStream(value);
+            default:
+                return InputConverters.reader(value);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.github.converter;
+
+/**
+ * The exceptions thrown for values that do not convert. They carry no stack trace, which would only point into the
+ * converters, so checking a file with many bad values, as {@code --validate} does, costs about as much as checking one
+ * with good values.
+ */
+final class ConversionFailure {
+
+    private ConversionFailure() {
+    }
+
+    static IllegalArgumentException invalid(String message) {
+        return new Invalid(message);
+    }
+
+    static NumberFormatException notANumber(CharSequence input) {
+        return new NotANumber("For input string: \"" + input + "\"");
+    }
+
+    static NumberFormatException invalidNumber(String message) {
+        return new NotANumber(message);
+    }
+
+    private static final class Invalid extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        private Invalid(String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    private static final class NotANumber extends NumberFormatException {
+        private static final long serialVersionUID = 1L;
+
+        private NotANumber(String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -1,56 +1,639 @@
 package org.github.converter;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class Converter {
 
+    /**
+     * How many conversions of {@link PureConverter}s are remembered when no other size is given.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private static final char SEPARATOR = ',';
+    private static final Set<Class<?>> LIST_TYPES = Set.of(Iterable.class, Collection.class, List.class, ArrayList.class);
+    private static final Set<Class<?>> SET_TYPES = Set.of(Set.class, HashSet.class, LinkedHashSet.class);
+    private static final Set<Class<?>> MAP_TYPES = Set.of(Map.class, HashMap.class, LinkedHashMap.class);
+
+    private static final IntConverter INTS = new IntConverter() {
+        @Override
+        public int convert(CharSequence input) {
+            return parseInt(input);
+        }
+    };
+    private static final LongConverter LONGS = new LongConverter() {
+        @Override
+        public long convert(CharSequence input) {
+            return parseLong(input);
+        }
+    };
+    private static final DoubleConverter DOUBLES = new DoubleConverter() {
+        @Override
+        public double convert(CharSequence input) {
+            return parseDouble(input);
+        }
+    };
+    private static final BooleanConverter BOOLEANS = new BooleanConverter() {
+        @Override
+        public boolean convert(CharSequence input) {
+            return parseBoolean(input);
+        }
+    };
+
+    /**
+     * Remembered by {@link #find} for types without a converter.
+     */
+    private static final TypeConverter UNCONVERTIBLE = new TypeConverter() {
+        @Override
+        public Object convert(String input) {
+            throw new IllegalStateException("Not a converter");
+        }
+    };
+
     private final Map<Class<?>, TypeConverter> converters;
+    private final Map<Type, TypeConverter> resolved = new ConcurrentHashMap<>();
+    private final ConversionCache cache;
+    private final IntConverter intConverter;
+    private final LongConverter longConverter;
+    private final DoubleConverter doubleConverter;
+    private final BooleanConverter booleanConverter;
 
     public Converter(Map<Class<?>, TypeConverter> additionalConverters) {
-        converters = addConverters(additionalConverters);
+        this(additionalConverters, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize how many conversions of the {@link PureConverter}s in {@code additionalConverters} are
+     *                  remembered, or 0 to always convert
+     */
+    public Converter(Map<Class<?>, TypeConverter> additionalConverters, int cacheSize) {
+        converters = new HashMap<>(additionalConverters);
+        cache = cacheSize > 0 ? new ConversionCache(cacheSize) : null;
+        intConverter = additionalConverters.containsKey(Integer.TYPE) ? new RegisteredInts(registered(Integer.TYPE)) : INTS;
+        longConverter = additionalConverters.containsKey(Long.TYPE) ? new RegisteredLongs(registered(Long.TYPE)) : LONGS;
+        doubleConverter = additionalConverters.containsKey(Double.TYPE) ? new RegisteredDoubles(registered(Double.TYPE)) : DOUBLES;
+        booleanConverter = additionalConverters.containsKey(Boolean.TYPE) ? new RegisteredBooleans(registered(Boolean.TYPE)) : BOOLEANS;
     }
 
     public Object convert(String input, Class<?> type) {
-        if ("null".equalsIgnoreCase(input) && !type.isPrimitive()) {
-            return null;
+        return converterFor(type).convert(input);
+    }
+
+    /**
+     * Finds the converter for a parameter type, building converters for enums, arrays, records, {@link Optional}
+     * and lists, sets and maps out of the converters for their elements. {@code int[]}, {@code long[]} and
+     * {@code double[]} are parsed without boxing, in parallel for very long values. Elements are separated by commas and map
+     * entries look like {@code key=value}. A {@link Stream} is read line by line from {@code @file} or stdin ({@code -}).
+     * A {@link Supplier} only converts its value the first time it is asked for it, so a costly conversion is skipped
+     * when the method does not use it. Any other type is converted through its own {@code valueOf}, {@code parse},
+     * {@code of} or {@code fromString} factory or {@code (String)} constructor. The result is cached per type, so this
+     * is only worked out once.
+     */
+    public TypeConverter converterFor(Type type) {
+        TypeConverter reply = resolved.get(type);
+        if (reply == null) {
+            reply = resolve(type);
+            resolved.putIfAbsent(type, reply);
+        } else if (reply == UNCONVERTIBLE) {
+            throw new IllegalArgumentException("Unable to convert " + type.getTypeName());
         }
-        TypeConverter converter = findConverter(type);
-        return converter.convert(input);
+        return reply;
     }
 
-    private TypeConverter findConverter(Class<?> type) {
+    /**
+     * Like {@link #converterFor}, but returns null for a type that cannot be converted. That is remembered too, so
+     * checking many values of such a type only works it out once.
+     */
+    public TypeConverter find(Type type) {
+        TypeConverter reply = resolved.get(type);
+        if (reply == null) {
+            try {
+                reply = resolve(type);
+            } catch (IllegalArgumentException e) {
+                reply = UNCONVERTIBLE;
+            }
+            resolved.putIfAbsent(type, reply);
+        }
+        return reply == UNCONVERTIBLE ? null : reply;
+    }
+
+    /**
+     * Converts the values of a parameter given more than once, such as {@code --tag=a --tag=b}, each on its own, so that
+     * a value may itself contain a comma: one element of an array, list or set for each value, or one {@code key=value}
+     * entry of a map.
+     */
+    public Object convertEach(List<String> inputs, Type type) {
+        final Class<?> raw = rawType(type);
+        if (raw.isArray()) {
+            final TypeConverter element = converterFor(type instanceof GenericArrayType array ? array.getGenericComponentType() : raw.getComponentType());
+            final Object reply = Array.newInstance(raw.getComponentType(), inputs.size());
+            for (int i = 0; i < inputs.size(); i++) {
+                Array.set(reply, i, element.convert(inputs.get(i)));
+            }
+            return reply;
+        }
+        if (MAP_TYPES.contains(raw)) {
+            final TypeConverter key = converterFor(elementType(type, 0));
+            final TypeConverter value = converterFor(elementType(type, 1));
+            final Map<Object, Object> reply = new LinkedHashMap<>();
+            for (String input : inputs) {
+                putEntry(reply, key, value, input);
+            }
+            return reply;
+        }
+        if (!acceptsSeveralValues(raw)) {
+            throw ConversionFailure.invalid("Cannot convert several values to " + raw.getSimpleName());
+        }
+        final TypeConverter element = converterFor(elementType(type, 0));
+        final Collection<Object> reply = SET_TYPES.contains(raw) ? new LinkedHashSet<>() : new ArrayList<>(inputs.size());
+        for (String input : inputs) {
+            reply.add(element.convert(input));
+        }
+        return reply;
+    }
+
+    /**
+     * Whether a parameter of the type can be given more than once, to {@link #convertEach}.
+     */
+    public static boolean acceptsSeveralValues(Type type) {
+        final Class<?> raw = rawType(type);
+        return raw.isArray() || LIST_TYPES.contains(raw) || SET_TYPES.contains(raw) || MAP_TYPES.contains(raw);
+    }
+
+    /**
+     * Converts {@code int} parameters without boxing, unless a converter for {@code int} was registered.
+     */
+    public IntConverter intConverter() {
+        return intConverter;
+    }
+
+    public LongConverter longConverter() {
+        return longConverter;
+    }
+
+    public DoubleConverter doubleConverter() {
+        return doubleConverter;
+    }
+
+    public BooleanConverter booleanConverter() {
+        return booleanConverter;
+    }
+
+    private TypeConverter resolve(Type type) {
+        if (type instanceof Class<?> primitive && primitive.isPrimitive()) {
+            return findConverter(primitive);
+        }
+        if (rawType(type) == Optional.class) {
+            return new OptionalConverter(converterFor(elementType(type, 0)));
+        }
+        if (rawType(type) == Supplier.class) {
+            return new LazyConverter(converterFor(elementType(type, 0)));
+        }
+        return new NullableConverter(resolveReference(type));
+    }
+
+    private TypeConverter resolveReference(Type type) {
+        if (type instanceof WildcardType wildcard) {
+            return converterFor(wildcard.getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable<?> variable) {
+            return converterFor(variable.getBounds()[0]);
+        }
+        if (type instanceof GenericArrayType array) {
+            return arrayConverter(array.getGenericComponentType());
+        }
+        final Class<?> raw = rawType(type);
+        final TypeConverter registered = registered(raw);
+        if (registered != null) {
+            return registered;
+        }
+        if (raw.isEnum()) {
+            return new EnumConverter(raw, raw.getEnumConstants());
+        }
+        if (raw.isArray()) {
+            final TypeConverter primitives = converters.containsKey(raw.getComponentType()) ? null : PrimitiveArrays.of(raw);
+            return primitives == null ? arrayConverter(raw.getComponentType()) : primitives;
+        }
+        if (raw.isRecord()) {
+            return recordConverter(raw);
+        }
+        if (LIST_TYPES.contains(raw)) {
+            return new CollectionConverter(converterFor(elementType(type, 0)), false);
+        }
+        if (SET_TYPES.contains(raw)) {
+            return new CollectionConverter(converterFor(elementType(type, 0)), true);
+        }
+        if (MAP_TYPES.contains(raw)) {
+            return new MapConverter(converterFor(elementType(type, 0)), converterFor(elementType(type, 1)));
+        }
+        if (raw == Stream.class) {
+            return new StreamConverter(converterFor(elementType(type, 0)));
+        }
+        final TypeConverter factory = FactoryConverter.of(raw);
+        if (factory != null) {
+            return factory;
+        }
+        throw new IllegalArgumentException("Unable to convert " + type.getTypeName());
+    }
+
+    private TypeConverter registered(Class<?> type) {
         final TypeConverter reply = converters.get(type);
+        if (reply == null) {
+            return BasicConverters.of(type);
+        }
+        return cache != null && reply instanceof PureConverter ? new CachedConverter(type, reply, cache) : reply;
+    }
+
+    private TypeConverter findConverter(Class<?> type) {
+        final TypeConverter reply = registered(type);
         if (reply == null) {
             throw new IllegalArgumentException("Unable to convert " + type.getName());
         }
         return reply;
     }
 
-    private Map<Class<?>, TypeConverter> addConverters(Map<Class<?>, TypeConverter> additionalConverters) {
-        final HashMap<Class<?>, TypeConverter> map = new HashMap<>();
-        map.put(Boolean.TYPE, booleanConverter());
-        map.put(Boolean.class, booleanConverter());
-        map.put(Integer.TYPE, Integer::parseInt);
-        map.put(Integer.class, Integer::parseInt);
-        map.put(Long.TYPE, Long::parseLong);
-        map.put(Long.class, Long::parseLong);
-        map.put(Double.TYPE, Double::parseDouble);
-        map.put(Double.class, Double::parseDouble);
-        map.put(String.class, value->value);
-        map.putAll(additionalConverters);
-        return map;
+    private TypeConverter arrayConverter(Type componentType) {
+        return new ArrayConverter(converterFor(componentType), rawType(componentType));
+    }
+
+    private static void putEntry(Map<Object, Object> map, TypeConverter key, TypeConverter value, String entry) {
+        final int equals = entry.indexOf('=');
+        if (equals < 0) {
+            throw ConversionFailure.invalid("Cannot convert map entry \"" + entry + "\", expected key=value");
+        }
+        map.put(key.convert(entry.substring(0, equals).trim()), value.convert(entry.substring(equals + 1).trim()));
+    }
+
+    private TypeConverter recordConverter(Class<?> type) {
+        final RecordComponent[] components = type.getRecordComponents();
+        final TypeConverter[] elements = new TypeConverter[components.length];
+        final Class<?>[] types = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            elements[i] = converterFor(components[i].getGenericType());
+            types[i] = components[i].getType();
+        }
+        final Constructor<?> constructor;
+        try {
+            constructor = type.getDeclaredConstructor(types);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Unable to convert " + type.getName());
+        }
+        constructor.trySetAccessible();
+        return new RecordConverter(type, elements, constructor);
     }
 
-    private TypeConverter booleanConverter() {
-        return (value) -> {
-            if ("true".equalsIgnoreCase(value)) {
-                return true;
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class<?> raw) {
+            return raw;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return (Class<?>) parameterized.getRawType();
+        }
+        if (type instanceof GenericArrayType array) {
+            return Array.newInstance(rawType(array.getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof WildcardType wildcard) {
+            return rawType(wildcard.getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable<?> variable) {
+            return rawType(variable.getBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    private static Type elementType(Type type, int index) {
+        if (type instanceof ParameterizedType parameterized) {
+            return parameterized.getActualTypeArguments()[index];
+        }
+        return String.class;
+    }
+
+    private static List<String> split(String input, char separator) {
+        final List<String> reply = new ArrayList<>();
+        if (input.isEmpty()) {
+            return reply;
+        }
+        int start = 0;
+        for (int i = 0; i <= input.length(); i++) {
+            if (i == input.length() || input.charAt(i) == separator) {
+                reply.add(input.substring(start, i).trim());
+                start = i + 1;
             }
-            if ("false".equalsIgnoreCase(value)) {
+        }
+        return reply;
+    }
+
+    /*
+     * Values that are plainly not numbers are turned down before the JDK parses them, as its NumberFormatException
+     * fills in a stack trace that nobody reads. Only a value that overflows still gets that far.
+     */
+    static int parseInt(CharSequence value) {
+        if (!isInteger(value, 0, value == null ? 0 : value.length())) {
+            throw ConversionFailure.notANumber(value);
+        }
+        return value instanceof String ? Integer.parseInt((String) value) : Integer.parseInt(value, 0, value.length(), 10);
+    }
+
+    static long parseLong(CharSequence value) {
+        if (!isInteger(value, 0, value == null ? 0 : value.length())) {
+            throw ConversionFailure.notANumber(value);
+        }
+        return value instanceof String ? Long.parseLong((String) value) : Long.parseLong(value, 0, value.length(), 10);
+    }
+
+    static double parseDouble(CharSequence value) {
+        final String text = String.valueOf(value);
+        if (!hasDigit(value) && !text.contains("NaN") && !text.contains("Infinity")) {
+            throw ConversionFailure.notANumber(value);
+        }
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw ConversionFailure.notANumber(value);
+        }
+    }
+
+    /**
+     * Whether {@code value} from {@code begin} to {@code end} is a sign followed by decimal digits, which is all
+     * {@link Integer#parseInt(String)} takes.
+     */
+    static boolean isInteger(CharSequence value, int begin, int end) {
+        if (value == null) {
+            return false;
+        }
+        if (begin < end && (value.charAt(begin) == '-' || value.charAt(begin) == '+')) {
+            begin++;
+        }
+        if (begin == end) {
+            return false;
+        }
+        for (int i = begin; i < end; i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasDigit(CharSequence value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean parseBoolean(CharSequence value) {
+        if (equalsIgnoreCase(value, "true")) {
+            return true;
+        }
+        if (equalsIgnoreCase(value, "false")) {
+            return false;
+        }
+        throw ConversionFailure.invalid("Cannot convert value \"" + value + "\" to boolean");
+    }
+
+    private static boolean equalsIgnoreCase(CharSequence value, String expected) {
+        if (value == null || value.length() != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (Character.toLowerCase(value.charAt(i)) != expected.charAt(i)) {
                 return false;
             }
-            throw new IllegalArgumentException("Cannot convert value \"" + value + "\" to boolean");
-        };
+        }
+        return true;
+    }
+
+    private record OptionalConverter(TypeConverter element) implements TypeConverter {
+        @Override
+        public Object convert(String input) {
+            return "null".equalsIgnoreCase(input) ? Optional.empty() : Optional.ofNullable(element.convert(input));
+        }
+    }
+
+    private record NullableConverter(TypeConverter converter) implements TypeConverter {
+        @Override
+        public Object convert(String input) {
+            return "null".equalsIgnoreCase(input) ? null : converter.convert(input);
+        }
+    }
+
+    private record LazyConverter(TypeConverter element) implements TypeConverter {
+        @Override
+        public Object convert(String input) {
+            return new LazyValue(element, input);
+        }
+    }
+
+    /**
+     * Converts its input the first time it is asked for, and then keeps the value. A failed conversion is tried again
+     * on the next call.
+     */
+    private static final class LazyValue implements Supplier<Object> {
+        private final TypeConverter converter;
+        private final String input;
+        private volatile boolean converted;
+        private Object value;
+
+        private LazyValue(TypeConverter converter, String input) {
+            this.converter = converter;
+            this.input = input;
+        }
+
+        @Override
+        public Object get() {
+            if (!converted) {
+                synchronized (this) {
+                    if (!converted) {
+                        value = converter.convert(input);
+                        converted = true;
+                    }
+                }
+            }
+            return value;
+        }
+
+        /**
+         * The input, so that two suppliers of the same value print, and are remembered by {@code @Memoize}, alike.
+         */
+        @Override
+        public String toString() {
+            return String.valueOf(input);
+        }
+    }
+
+    /*
+     * Converters registered for int, long, double or boolean in place of the basic ones, unboxing what they return.
+     */
+    private record RegisteredInts(TypeConverter converter) implements IntConverter {
+        @Override
+        public int convert(CharSequence input) {
+            return (Integer) converter.convert(input.toString());
+        }
+    }
+
+    private record RegisteredLongs(TypeConverter converter) implements LongConverter {
+        @Override
+        public long convert(CharSequence input) {
+            return (Long) converter.convert(input.toString());
+        }
+    }
+
+    private record RegisteredDoubles(TypeConverter converter) implements DoubleConverter {
+        @Override
+        public double convert(CharSequence input) {
+            return (Double) converter.convert(input.toString());
+        }
+    }
+
+    private record RegisteredBooleans(TypeConverter converter) implements BooleanConverter {
+        @Override
+        public boolean convert(CharSequence input) {
+            return (Boolean) converter.convert(input.toString());
+        }
+    }
+
+    private record EnumConverter(Class<?> type, Object[] constants) implements TypeConverter {
+        @Override
+        public Object convert(String input) {
+            for (Object constant : constants) {
+                if (((Enum<?>) constant).name().equalsIgnoreCase(input)) {
+                    return constant;
+                }
+            }
+            throw ConversionFailure.invalid("Cannot convert value \"" + input + "\" to " + type.getSimpleName() + ". Possible values are " + Arrays.toString(constants));
+        }
+    }
+
+    private record ArrayConverter(TypeConverter element, Class<?> component) implements TypeConverter {
+        @Override
+        public Object convert(String input) {
+            final List<String> values = split(input, SEPARATOR);
+            final Object reply = Array.newInstance(component, values.size());
+            for (int i = 0; i < values.size(); i++) {
+                Array.set(reply, i, element.convert(values.get(i)));
+            }
+            return reply;
+        }
+    }
+
+    private record CollectionConverter(TypeConverter element, boolean unique) implements TypeConverter {
+        @Override
+        public Object convert(String input) {
+            final List<String> values = split(input, SEPARATOR);
+            final Collection<Object> reply = unique ? new LinkedHashSet<>(values.size()) : new ArrayList<>(values.size());
+            for (String value : values) {
+                reply.add(element.convert(value));
+            }
+            return reply;
+        }
+    }
+
+    private record MapConverter(TypeConverter key, TypeConverter value) implements TypeConverter {
+        @Override
+        public Object convert(String input) {
+            final Map<Object, Object> reply = new LinkedHashMap<>();
+            for (String entry : split(input, SEPARATOR)) {
+                putEntry(reply, key, value, entry);
+            }
+            return reply;
+        }
+    }
+
+    private record StreamConverter(TypeConverter element) implements TypeConverter, Function<String, Object> {
+        @Override
+        public Object convert(String input) {
+            return InputConverters.lines(input).map(this);
+        }
+
+        @Override
+        public Object apply(String line) {
+            return element.convert(line);
+        }
+    }
+
+    private record RecordConverter(Class<?> type, TypeConverter[] elements, Constructor<?> constructor) implements TypeConverter {
+        @Override
+        public Object convert(String input) {
+            final List<String> values = split(input, SEPARATOR);
+            if (values.size() != elements.length) {
+                throw ConversionFailure.invalid("Cannot convert value \"" + input + "\" to " + type.getSimpleName() + ", expected " + elements.length + " comma separated values");
+            }
+            final Object[] arguments = new Object[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                arguments[i] = elements[i].convert(values.get(i));
+            }
+            try {
+                return constructor.newInstance(arguments);
+            } catch (InvocationTargetException e) {
+                throw ConversionFailure.invalid("Cannot convert value \"" + input + "\" to " + type.getSimpleName() + ": " + e.getCause().getMessage());
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new IllegalArgumentException("Unable to convert " + type.getName());
+            }
+        }
+    }
+
+    private record CachedConverter(Class<?> type, TypeConverter converter, ConversionCache cache) implements TypeConverter {
+        @Override
+        public Object convert(String input) {
+            if (input == null) {
+                return converter.convert(null);
+            }
+            final ConversionKey key = new ConversionKey(type, input);
+            Object reply = cache.get(key);
+            if (reply == null) {
+                reply = converter.convert(input);
+                if (reply != null) {
+                    cache.put(key, reply);
+                }
+            }
+            return reply;
+        }
+    }
+
+    private record ConversionKey(Class<?> type, String input) {
+    }
+
+    /**
+     * The most recent conversions, shared by every thread without a lock: a hit is a plain concurrent map lookup, and
+     * once the cache is full the conversion that was added first is dropped for each new one.
+     */
+    private static final class ConversionCache {
+        private final int maximum;
+        private final Map<ConversionKey, Object> values = new ConcurrentHashMap<>();
+        private final Queue<ConversionKey> added = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private ConversionCache(int maximum) {
+            this.maximum = maximum;
+        }
+
+        Object get(ConversionKey key) {
+            return values.get(key);
+        }
+
+        void put(ConversionKey key, Object value) {
+            if (values.putIfAbsent(key, value) != null) {
+                return;
+            }
+            added.add(key);
+            if (size.incrementAndGet() > maximum) {
+                final ConversionKey eldest = added.poll();
+                if (eldest != null) {
+                    values.remove(eldest);
+                    size.decrementAndGet();
+                }
+            }
+        }
     }
 }
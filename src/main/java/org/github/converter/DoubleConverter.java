@@ -0,0 +1,6 @@
+package org.github.converter;
+
+@FunctionalInterface
+public interface DoubleConverter {
+    double convert(CharSequence input);
+}
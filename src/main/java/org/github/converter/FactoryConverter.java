@@ -0,0 +1,109 @@
+package org.github.converter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Converts to a type that was not registered through a factory of its own: the first of a public static
+ * {@code valueOf(String)}, {@code parse(CharSequence)}, {@code of(String)} or {@code fromString(String)} returning the
+ * type, or else a public {@code (String)} constructor. That covers {@code BigDecimal}, {@code LocalDate},
+ * {@code Duration}, {@code URI}, {@code UUID} and the like.
+ * <p>
+ * The factory is looked for once per class, for every {@link Converter}, and bound as a method handle, so converting
+ * a value costs about as much as calling the factory directly.
+ */
+final class FactoryConverter implements TypeConverter {
+
+    private static final String[] FACTORY_NAMES = {"valueOf", "parse", "of", "fromString"};
+    private static final MethodType CONVERSION = MethodType.methodType(Object.class, String.class);
+
+    private static final ClassValue<Optional<FactoryConverter>> FACTORIES = new ClassValue<>() {
+        @Override
+        protected Optional<FactoryConverter> computeValue(Class<?> type) {
+            return Optional.ofNullable(find(type));
+        }
+    };
+
+    private final Class<?> type;
+    private final MethodHandle factory;
+
+    private FactoryConverter(Class<?> type, MethodHandle factory) {
+        this.type = type;
+        this.factory = factory.asType(CONVERSION);
+    }
+
+    /**
+     * Returns null for types without such a factory.
+     */
+    static TypeConverter of(Class<?> type) {
+        return FACTORIES.get(type).orElse(null);
+    }
+
+    @Override
+    public Object convert(String input) {
+        try {
+            return (Object) factory.invokeExact(input);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw ConversionFailure.invalid("Cannot convert value \"" + input + "\" to " + type.getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static FactoryConverter find(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || !Modifier.isPublic(type.getModifiers())) {
+            return null;
+        }
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        final Method[] methods = type.getMethods();
+        for (String name : FACTORY_NAMES) {
+            for (Method factory : factories(type, methods, name)) {
+                try {
+                    return new FactoryConverter(type, lookup.unreflect(factory));
+                } catch (IllegalAccessException e) {
+                    // declared by a class this module cannot reach, so try the next one
+                }
+            }
+        }
+        if (Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (constructor.getParameterCount() == 1 && constructor.getParameterTypes()[0] == String.class) {
+                try {
+                    return new FactoryConverter(type, lookup.unreflectConstructor(constructor));
+                } catch (IllegalAccessException e) {
+                    // a public class in a package its module does not export, so it cannot be created from here
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The public static methods called {@code name} that take a {@code String} or a {@code CharSequence} and return
+     * {@code type}, those taking a {@code String} first.
+     */
+    private static List<Method> factories(Class<?> type, Method[] methods, String name) {
+        final List<Method> reply = new ArrayList<>(1);
+        for (Method method : methods) {
+            if (method.getName().equals(name) && Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 1
+                    && type.isAssignableFrom(method.getReturnType())) {
+                final Class<?> parameter = method.getParameterTypes()[0];
+                if (parameter == String.class) {
+                    reply.add(0, method);
+                } else if (parameter == CharSequence.class) {
+                    reply.add(method);
+                }
+            }
+        }
+        return reply;
+    }
+}
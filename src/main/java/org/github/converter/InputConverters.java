@@ -0,0 +1,108 @@
+package org.github.converter;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+/**
+ * Converters for parameters that read large inputs. A value of {@code @file} reads from that file, and {@code -} reads
+ * from stdin. Files are memory mapped for {@link ByteBuffer} parameters and read lazily for streams and readers, so
+ * the input is never held in a single string. Any other value is used as the content itself.
+ */
+final class InputConverters {
+
+    static final String STDIN = "-";
+    private static final String FILE_PREFIX = "@";
+
+    private InputConverters() {
+    }
+
+    static Stream<String> lines(String value) {
+        final BufferedReader reader = reader(value);
+        return reader.lines().onClose(new Closer(reader));
+    }
+
+    private record Closer(Reader reader) implements Runnable {
+        @Override
+        public void run() {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    static Path path(String value) {
+        final String name = value.startsWith(FILE_PREFIX) ? value.substring(FILE_PREFIX.length()) : value;
+        try {
+            return Path.of(name);
+        } catch (InvalidPathException e) {
+            throw ConversionFailure.invalid("Cannot convert value \"" + value + "\" to a path");
+        }
+    }
+
+    static ByteBuffer byteBuffer(String value) {
+        if (STDIN.equals(value)) {
+            try {
+                return ByteBuffer.wrap(System.in.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (!value.startsWith(FILE_PREFIX)) {
+            return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return mappedByteBuffer(value);
+    }
+
+    static MappedByteBuffer mappedByteBuffer(String value) {
+        final Path file = path(value);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Cannot map " + file + " into one buffer, it is larger than 2GB. Use a Path or an InputStream instead");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw unreadable(file, e);
+        }
+    }
+
+    static InputStream inputStream(String value) {
+        if (STDIN.equals(value)) {
+            return new FilterInputStream(System.in) {
+                @Override
+                public void close() {
+                    // stdin belongs to the process, not the command
+                }
+            };
+        }
+        if (!value.startsWith(FILE_PREFIX)) {
+            return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+        }
+        final Path file = path(value);
+        try {
+            return new BufferedInputStream(Files.newInputStream(file));
+        } catch (IOException e) {
+            throw unreadable(file, e);
+        }
+    }
+
+    static BufferedReader reader(String value) {
+        if (!STDIN.equals(value) && !value.startsWith(FILE_PREFIX)) {
+            return new BufferedReader(new StringReader(value));
+        }
+        return new BufferedReader(new InputStreamReader(inputStream(value), StandardCharsets.UTF_8));
+    }
+
+    private static IllegalArgumentException unreadable(Path file, IOException e) {
+        return ConversionFailure.invalid("Cannot read file " + file + ": " + e.getMessage());
+    }
+}
@@ -0,0 +1,6 @@
+package org.github.converter;
+
+@FunctionalInterface
+public interface IntConverter {
+    int convert(CharSequence input);
+}
@@ -0,0 +1,6 @@
+package org.github.converter;
+
+@FunctionalInterface
+public interface LongConverter {
+    long convert(CharSequence input);
+}
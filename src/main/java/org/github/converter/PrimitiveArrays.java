@@ -0,0 +1,197 @@
+package org.github.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Converts comma separated values straight into {@code int[]}, {@code long[]} and {@code double[]}, without a string
+ * or a box per element. The values are counted first, so the array is allocated once at its final size, and then
+ * parsed in place. Values longer than {@value #PARALLEL_THRESHOLD} characters are cut into chunks at commas, which are
+ * counted and parsed on the common fork join pool, each chunk writing into its own part of the array.
+ */
+enum PrimitiveArrays implements TypeConverter {
+    INTS, LONGS, DOUBLES;
+
+    static final int PARALLEL_THRESHOLD = 1 << 18;
+    private static final int MIN_CHUNK = 1 << 16;
+    private static final char SEPARATOR = ',';
+
+    /**
+     * Returns null for types that are not arrays of {@code int}, {@code long} or {@code double}.
+     */
+    static TypeConverter of(Class<?> type) {
+        if (type == int[].class) {
+            return INTS;
+        }
+        if (type == long[].class) {
+            return LONGS;
+        }
+        if (type == double[].class) {
+            return DOUBLES;
+        }
+        return null;
+    }
+
+    @Override
+    public Object convert(String input) {
+        if (input.isEmpty()) {
+            return newArray(0);
+        }
+        if (input.length() < PARALLEL_THRESHOLD) {
+            final Object reply = newArray(count(input, 0, input.length()));
+            parse(input, 0, input.length(), reply, 0);
+            return reply;
+        }
+        final List<Chunk> chunks = chunks(input);
+        ForkJoinTask.invokeAll(chunks);
+        int size = 0;
+        for (Chunk chunk : chunks) {
+            chunk.offset = size;
+            size += chunk.count;
+        }
+        final Object reply = newArray(size);
+        for (Chunk chunk : chunks) {
+            chunk.reinitialize();
+            chunk.array = reply;
+        }
+        ForkJoinTask.invokeAll(chunks);
+        return reply;
+    }
+
+    private Object newArray(int size) {
+        switch (this) {
+            case INTS:
+                return new int[size];
+            case LONGS:
+                return new long[size];
+            default:
+                return new double[size];
+        }
+    }
+
+    /**
+     * Parses the values starting in {@code [start, end)}, where {@code start} is the start of a value and {@code end}
+     * either the start of another one or the end of the input, into {@code array} from {@code index} on.
+     */
+    private void parse(String input, int start, int end, Object array, int index) {
+        int begin = start;
+        while (true) {
+            int next = begin;
+            while (next < input.length() && input.charAt(next) != SEPARATOR) {
+                next++;
+            }
+            set(input, begin, next, array, index++);
+            if (next == input.length()) {
+                return;
+            }
+            begin = next + 1;
+            if (begin >= end && end < input.length()) {
+                return;
+            }
+        }
+    }
+
+    private void set(String input, int begin, int end, Object array, int index) {
+        while (begin < end && input.charAt(begin) <= ' ') {
+            begin++;
+        }
+        while (end > begin && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (this != DOUBLES && !Converter.isInteger(input, begin, end)) {
+            throw notANumber(input, begin, end);
+        }
+        try {
+            switch (this) {
+                case INTS:
+                    ((int[]) array)[index] = Integer.parseInt(input, begin, end, 10);
+                    break;
+                case LONGS:
+                    ((long[]) array)[index] = Long.parseLong(input, begin, end, 10);
+                    break;
+                default:
+                    ((double[]) array)[index] = Double.parseDouble(input.substring(begin, end));
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            throw notANumber(input, begin, end);
+        }
+    }
+
+    private NumberFormatException notANumber(String input, int begin, int end) {
+        return ConversionFailure.invalidNumber("Cannot convert value \"" + input.substring(begin, end) + "\" to " + elementName());
+    }
+
+    private String elementName() {
+        switch (this) {
+            case INTS:
+                return "int";
+            case LONGS:
+                return "long";
+            default:
+                return "double";
+        }
+    }
+
+    /**
+     * The number of values starting in {@code [start, end)}: one per comma, and the last value of the input.
+     */
+    private static int count(String input, int start, int end) {
+        int reply = end == input.length() ? 1 : 0;
+        for (int i = start; i < end; i++) {
+            if (input.charAt(i) == SEPARATOR) {
+                reply++;
+            }
+        }
+        return reply;
+    }
+
+    private List<Chunk> chunks(String input) {
+        final int chunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, input.length() / MIN_CHUNK));
+        final List<Chunk> reply = new ArrayList<>(chunks);
+        int start = 0;
+        for (int i = 1; i <= chunks && start < input.length(); i++) {
+            int end = i == chunks ? input.length() : input.indexOf(SEPARATOR, (int) ((long) input.length() * i / chunks));
+            end = end < 0 ? input.length() : i == chunks ? end : end + 1;
+            if (end > start) {
+                reply.add(new Chunk(this, input, start, end));
+                start = end;
+            }
+        }
+        return reply;
+    }
+
+    /**
+     * Counts the values in its part of the input the first time it runs, and parses them once it has an array.
+     */
+    private static final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final PrimitiveArrays type;
+        private final String input;
+        private final int start;
+        private final int end;
+        private int count;
+        private int offset;
+        private Object array;
+
+        private Chunk(PrimitiveArrays type, String input, int start, int end) {
+            this.type = type;
+            this.input = input;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (array == null) {
+                count = count(input, start, end);
+            } else if (count > 0) {
+                type.parse(input, start, end, array, offset);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.github.converter;
+
+/**
+ * A {@link TypeConverter} that always converts the same input into an equal value that is never changed afterwards,
+ * such as parsing a date or looking up an id that does not move. {@link Converter} remembers the most recent
+ * conversions of registered pure converters, so a value repeated across a batch, or the commands sent to a server,
+ * is only converted once.
+ */
+@FunctionalInterface
+public interface PureConverter extends TypeConverter {
+}
@@ -0,0 +1,93 @@
+package org.github.converter;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Builds generic types without reflection, e.g. {@code Types.parameterized(List.class, Integer.class)} for
+ * {@code List<Integer>}. They are equal to the types returned by reflection, so they share converters in the cache.
+ */
+public final class Types {
+
+    private Types() {
+    }
+
+    public static ParameterizedType parameterized(Class<?> rawType, Type... arguments) {
+        return new Parameterized(rawType, arguments.clone());
+    }
+
+    public static Type arrayOf(Type componentType) {
+        if (componentType instanceof Class<?> component) {
+            return Array.newInstance(component, 0).getClass();
+        }
+        return new GenericArray(componentType);
+    }
+
+    private record Parameterized(Class<?> raw, Type[] arguments) implements ParameterizedType {
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return arguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return raw;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return raw.getDeclaringClass();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ParameterizedType that
+                    && Objects.equals(getOwnerType(), that.getOwnerType())
+                    && raw.equals(that.getRawType())
+                    && Arrays.equals(arguments, that.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(arguments) ^ Objects.hashCode(getOwnerType()) ^ raw.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            final StringJoiner reply = new StringJoiner(", ", raw.getName() + "<", ">");
+            for (Type argument : arguments) {
+                reply.add(argument.getTypeName());
+            }
+            return reply.toString();
+        }
+    }
+
+    private record GenericArray(Type component) implements GenericArrayType {
+
+        @Override
+        public Type getGenericComponentType() {
+            return component;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof GenericArrayType that && component.equals(that.getGenericComponentType());
+        }
+
+        @Override
+        public int hashCode() {
+            return component.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return component.getTypeName() + "[]";
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.github.daemon;
+
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Forwards a command line to a {@link FireServer} and streams back what it prints, e.g.
+ * {@code java org.github.daemon.FireClient /tmp/jfire.sock hello --who=you}.
+ */
+public final class FireClient {
+
+    private FireClient() {
+    }
+
+    public static void main(String... args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Please pass the socket of the JFire server, followed by the command");
+            System.exit(-1);
+        }
+        System.exit(call(Path.of(args[0]), System.out, System.err, Arrays.copyOfRange(args, 1, args.length)));
+    }
+
+    /**
+     * @return the exit code of the command
+     */
+    public static int call(Path socket, OutputStream out, OutputStream err, String... args) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            Protocol.writeArguments(new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel))), args);
+            final DataInputStream frames = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            byte[] buffer = new byte[8192];
+            while (true) {
+                final byte type = frames.readByte();
+                final int length = frames.readInt();
+                if (type == Protocol.EXIT) {
+                    out.flush();
+                    err.flush();
+                    return frames.readInt();
+                }
+                if (buffer.length < length) {
+                    buffer = new byte[length];
+                }
+                frames.readFully(buffer, 0, length);
+                (type == Protocol.ERR ? err : out).write(buffer, 0, length);
+            }
+        }
+    }
+}
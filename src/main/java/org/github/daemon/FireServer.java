@@ -0,0 +1,105 @@
+package org.github.daemon;
+
+import org.github.InternalFire;
+import org.github.RoutingOutputStream;
+
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Keeps one JVM, and one {@link InternalFire}, alive behind a Unix domain socket, so that every call after the
+ * first runs against warm caches and compiled code. Use {@link FireClient} to send it commands.
+ */
+public final class FireServer implements Closeable {
+
+    private final InternalFire fire;
+    private final Object target;
+    private final Path socket;
+    private final ServerSocketChannel server;
+    private final PrintStream originalOut = System.out;
+    private final PrintStream originalErr = System.err;
+    private final RoutingOutputStream out = new RoutingOutputStream(originalOut);
+    private final RoutingOutputStream err = new RoutingOutputStream(originalErr);
+    private final PrintStream routedOut = new PrintStream(out, true);
+    private final PrintStream routedErr = new PrintStream(err, true);
+
+    public FireServer(InternalFire fire, Object target, Path socket) throws IOException {
+        this.fire = fire;
+        this.target = target;
+        this.socket = socket;
+        Files.deleteIfExists(socket);
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socket));
+    }
+
+    /**
+     * Accepts clients until {@link #close()} is called, serving each one on its own thread.
+     */
+    public void serve() throws IOException {
+        System.setOut(routedOut);
+        System.setErr(routedErr);
+        try {
+            while (server.isOpen()) {
+                final SocketChannel client;
+                try {
+                    client = server.accept();
+                } catch (ClosedChannelException e) {
+                    return;
+                }
+                final Thread thread = new Thread(() -> handle(client), "jfire-client");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        } finally {
+            restoreSystemStreams();
+        }
+    }
+
+    private void handle(SocketChannel client) {
+        try (client) {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(client)));
+            final DataOutputStream frames = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(client)));
+            final String[] args = Protocol.readArguments(in);
+            final PrintStream clientErr = new PrintStream(new FrameOutputStream(frames, Protocol.ERR), true);
+            out.route(new FrameOutputStream(frames, Protocol.OUT));
+            err.route(clientErr);
+            int code = 0;
+            try {
+                fire.fire(target, args);
+            } catch (Exception e) {
+                clientErr.println(e.getMessage());
+                code = -1;
+            } finally {
+                System.out.flush();
+                out.route(null);
+                err.route(null);
+            }
+            Protocol.writeExit(frames, code);
+        } catch (IOException e) {
+            originalErr.println("Lost client: " + e.getMessage());
+        }
+    }
+
+    private synchronized void restoreSystemStreams() {
+        if (System.out == routedOut) {
+            System.setOut(originalOut);
+        }
+        if (System.err == routedErr) {
+            System.setErr(originalErr);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        restoreSystemStreams();
+        Files.deleteIfExists(socket);
+    }
+}
@@ -0,0 +1,59 @@
+package org.github.daemon;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The client sends the argument count followed by each argument as length prefixed UTF-8.
+ * The server answers with frames of a type byte, a length and a payload, ending with an {@link #EXIT} frame
+ * carrying the exit code.
+ */
+final class Protocol {
+
+    static final byte OUT = 1;
+    static final byte ERR = 2;
+    static final byte EXIT = 3;
+
+    private Protocol() {
+    }
+
+    static void writeArguments(DataOutputStream out, String... args) throws IOException {
+        out.writeInt(args.length);
+        for (String arg : args) {
+            final byte[] bytes = arg.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        out.flush();
+    }
+
+    static String[] readArguments(DataInputStream in) throws IOException {
+        final String[] reply = new String[in.readInt()];
+        for (int i = 0; i < reply.length; i++) {
+            final byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            reply[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return reply;
+    }
+
+    static void writeFrame(DataOutputStream out, byte type, byte[] bytes, int offset, int length) throws IOException {
+        synchronized (out) {
+            out.writeByte(type);
+            out.writeInt(length);
+            out.write(bytes, offset, length);
+            out.flush();
+        }
+    }
+
+    static void writeExit(DataOutputStream out, int code) throws IOException {
+        synchronized (out) {
+            out.writeByte(EXIT);
+            out.writeInt(Integer.BYTES);
+            out.writeInt(code);
+            out.flush();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package org.github.examples;
 
+import org.github.FireCommand;
+
+@FireCommand
 public class CommandLineApp {
 
     public void hello(boolean shouldPrint, String who) {
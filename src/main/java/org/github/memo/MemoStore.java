@@ -0,0 +1,259 @@
+package org.github.memo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembered results of {@link org.github.Memoize} methods, in one memory mapped file that every run shares.
+ * <p>
+ * The file starts with a header of its format, a generation and the end of the last entry. Entries are appended after
+ * it, each with its length, the SHA-256 of its key, when it expires, when it was last used and the remembered bytes.
+ * A run only reads the entries appended since it last looked, unless the generation changed. When the file is full,
+ * the expired and least recently used entries are dropped, keeping at most half of it, and the generation goes up.
+ * Every read and write holds a lock on the file, so runs in several processes can share it.
+ * <p>
+ * The file is only opened when it is first used, so creating a store costs nothing.
+ */
+public final class MemoStore implements AutoCloseable {
+
+    /**
+     * The size of the file when no other is given, 64 MiB.
+     */
+    public static final long DEFAULT_SIZE = 64L << 20;
+
+    private static final int MAGIC = 0x4A464D31;
+    private static final int HEADER = 32;
+    private static final int GENERATION = 8;
+    private static final int TAIL = 16;
+    private static final int KEY = 4;
+    private static final int EXPIRES = KEY + 32;
+    private static final int LAST_USED = EXPIRES + 8;
+    private static final int ENTRY_HEADER = LAST_USED + 8;
+
+    /**
+     * Guards every store in this JVM: a second lock on the same file from this JVM would fail rather than wait.
+     */
+    private static final Object LOCK = new Object();
+
+    private final Path file;
+    private final int size;
+    private final Map<ByteBuffer, Integer> index = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer map;
+    private long generation = -1;
+    private int scanned;
+
+    /**
+     * @param size the size of the file in bytes, at most 2 GiB. Results bigger than half of it are not remembered.
+     */
+    public MemoStore(Path file, long size) {
+        if (size < HEADER + 2 * ENTRY_HEADER || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The size of a memo store must be between " + (HEADER + 2 * ENTRY_HEADER) + " and " + Integer.MAX_VALUE + " bytes, but was " + size);
+        }
+        this.file = file;
+        this.size = (int) size;
+    }
+
+    /**
+     * {@code ~/.jfire/memoize.cache}, used by {@link org.github.JFire} unless {@code -- --cache=file} is given.
+     */
+    public static Path defaultFile() {
+        return Path.of(System.getProperty("user.home"), ".jfire", "memoize.cache");
+    }
+
+    /**
+     * Returns the bytes remembered for {@code key}, or null when there are none or they expired.
+     */
+    public byte[] get(byte[] key) {
+        final ByteBuffer hash = ByteBuffer.wrap(sha256(key));
+        synchronized (LOCK) {
+            try {
+                final FileLock lock = lock();
+                try {
+                    refresh();
+                    final Integer offset = index.get(hash);
+                    if (offset == null) {
+                        return null;
+                    }
+                    final long now = System.currentTimeMillis();
+                    if (map.getLong(offset + EXPIRES) <= now) {
+                        index.remove(hash);
+                        return null;
+                    }
+                    map.putLong(offset + LAST_USED, now);
+                    final byte[] reply = new byte[map.getInt(offset) - ENTRY_HEADER];
+                    map.get(offset + ENTRY_HEADER, reply);
+                    return reply;
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to read the memo store " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Remembers {@code value} for {@code key}, replacing what was remembered before.
+     *
+     * @param timeToLive how long to use it for, or null to keep it until it is evicted
+     * @return false when the value is too big to be remembered
+     */
+    public boolean put(byte[] key, byte[] value, Duration timeToLive) {
+        final int length = ENTRY_HEADER + value.length;
+        if (value.length > capacity() / 2 - ENTRY_HEADER) {
+            return false;
+        }
+        final byte[] hash = sha256(key);
+        synchronized (LOCK) {
+            try {
+                final FileLock lock = lock();
+                try {
+                    refresh();
+                    final long now = System.currentTimeMillis();
+                    int tail = map.getInt(TAIL);
+                    if (tail + length > size) {
+                        compact(now);
+                        tail = map.getInt(TAIL);
+                    }
+                    map.putInt(tail, length);
+                    map.put(tail + KEY, hash);
+                    map.putLong(tail + EXPIRES, timeToLive == null ? Long.MAX_VALUE : now + timeToLive.toMillis());
+                    map.putLong(tail + LAST_USED, now);
+                    map.put(tail + ENTRY_HEADER, value);
+                    map.putInt(TAIL, tail + length);
+                    index.put(ByteBuffer.wrap(hash), tail);
+                    scanned = tail + length;
+                    return true;
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to write the memo store " + file, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (LOCK) {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+                map = null;
+                index.clear();
+                generation = -1;
+            }
+        }
+    }
+
+    private int capacity() {
+        return size - HEADER;
+    }
+
+    private FileLock lock() throws IOException {
+        if (channel == null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        return channel.lock();
+    }
+
+    /**
+     * Catches up with the entries other runs appended, or starts over when the file was compacted, is new or is not
+     * readable.
+     */
+    private void refresh() {
+        if (map.getInt(0) != MAGIC || map.getInt(TAIL) < HEADER || map.getInt(TAIL) > size) {
+            reset(map.getInt(0) == MAGIC ? map.getLong(GENERATION) + 1 : 0);
+        }
+        final long current = map.getLong(GENERATION);
+        if (current != generation) {
+            generation = current;
+            index.clear();
+            scanned = HEADER;
+        }
+        final int tail = map.getInt(TAIL);
+        while (scanned < tail) {
+            final int length = map.getInt(scanned);
+            if (length < ENTRY_HEADER || scanned + length > tail) {
+                reset(generation + 1);
+                refresh();
+                return;
+            }
+            final byte[] hash = new byte[32];
+            map.get(scanned + KEY, hash);
+            index.put(ByteBuffer.wrap(hash), scanned);
+            scanned += length;
+        }
+    }
+
+    private void reset(long newGeneration) {
+        map.putInt(0, MAGIC);
+        map.putLong(GENERATION, newGeneration);
+        map.putInt(TAIL, HEADER);
+    }
+
+    /**
+     * Keeps the most recently used entries that have not expired, up to half of the file, so that a full file is not
+     * compacted again on every write. The file is emptied first, so a run that dies half way leaves an empty store
+     * rather than a broken one.
+     */
+    private void compact(long now) {
+        final List<Integer> live = new ArrayList<>(index.size());
+        for (Integer offset : index.values()) {
+            if (map.getLong(offset + EXPIRES) > now) {
+                live.add(offset);
+            }
+        }
+        live.sort(Comparator.comparingLong((Integer offset) -> map.getLong(offset + LAST_USED)).reversed());
+        final List<byte[]> kept = new ArrayList<>();
+        int total = 0;
+        for (Integer offset : live) {
+            final int length = map.getInt(offset);
+            if (total + length > capacity() / 2) {
+                break;
+            }
+            final byte[] entry = new byte[length];
+            map.get(offset, entry);
+            kept.add(entry);
+            total += length;
+        }
+        reset(generation + 1);
+        generation++;
+        index.clear();
+        int tail = HEADER;
+        for (byte[] entry : kept) {
+            map.put(tail, entry);
+            final byte[] hash = new byte[32];
+            System.arraycopy(entry, KEY, hash, 0, hash.length);
+            index.put(ByteBuffer.wrap(hash), tail);
+            tail += entry.length;
+        }
+        map.putInt(TAIL, tail);
+        scanned = tail;
+    }
+
+    private static byte[] sha256(byte[] key) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(key);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.github.output;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The fields of a record, or the getters and public fields of any other class outside the JDK, in a stable order.
+ * Worked out once per class and bound as method handles, so writing an object does not go through reflection.
+ * Classes without any, and JDK classes such as {@code LocalDate}, are written as their {@code toString()}.
+ */
+final class Accessors {
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final ClassValue<Accessors> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Accessors computeValue(Class<?> type) {
+            return new Accessors(type);
+        }
+    };
+
+    private final String[] names;
+    private final MethodHandle[] getters;
+
+    private Accessors(Class<?> type) {
+        final Map<String, MethodHandle> found = isJdk(type) ? Map.of() : type.isRecord() ? components(type) : properties(type);
+        names = found.keySet().toArray(new String[0]);
+        getters = found.values().toArray(new MethodHandle[0]);
+    }
+
+    static Accessors of(Class<?> type) {
+        return ACCESSORS.get(type);
+    }
+
+    /**
+     * Whether values of this class are written field by field rather than as their {@code toString()}.
+     */
+    boolean isStructured() {
+        return names.length > 0;
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    String name(int index) {
+        return names[index];
+    }
+
+    int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    Object get(Object target, int index) {
+        try {
+            return (Object) getters[index].invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static boolean isJdk(Class<?> type) {
+        final String name = type.getName();
+        return type.isPrimitive() || type.isArray() || type.isEnum() || name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.");
+    }
+
+    private static Map<String, MethodHandle> components(Class<?> type) {
+        final Map<String, MethodHandle> reply = new LinkedHashMap<>();
+        for (RecordComponent component : type.getRecordComponents()) {
+            final MethodHandle getter = getter(component.getAccessor());
+            if (getter != null) {
+                reply.put(component.getName(), getter);
+            }
+        }
+        return reply;
+    }
+
+    /**
+     * Public fields and getters, in the order the fields are declared, and then getters without a field by name.
+     */
+    private static Map<String, MethodHandle> properties(Class<?> type) {
+        final Map<String, MethodHandle> byName = new TreeMap<>();
+        for (Method method : type.getMethods()) {
+            final String property = property(method);
+            if (property != null) {
+                final MethodHandle getter = getter(method);
+                if (getter != null) {
+                    byName.put(property, getter);
+                }
+            }
+        }
+        for (Field field : type.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !byName.containsKey(field.getName())) {
+                final MethodHandle getter = getter(field);
+                if (getter != null) {
+                    byName.put(field.getName(), getter);
+                }
+            }
+        }
+        final Map<String, MethodHandle> reply = new LinkedHashMap<>();
+        for (String declared : declaredFieldNames(type)) {
+            final MethodHandle getter = byName.remove(declared);
+            if (getter != null) {
+                reply.put(declared, getter);
+            }
+        }
+        reply.putAll(byName);
+        return reply;
+    }
+
+    private static List<String> declaredFieldNames(Class<?> type) {
+        final List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(0, current);
+        }
+        final List<String> reply = new ArrayList<>();
+        for (Class<?> current : hierarchy) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    reply.add(field.getName());
+                }
+            }
+        }
+        return reply;
+    }
+
+    private static String property(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0 || method.getReturnType() == Void.TYPE
+                || method.getDeclaringClass() == Object.class) {
+            return null;
+        }
+        final String name = method.getName();
+        if (name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3))) {
+            return decapitalize(name.substring(3));
+        }
+        if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2)) && method.getReturnType() == boolean.class) {
+            return decapitalize(name.substring(2));
+        }
+        return null;
+    }
+
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static MethodHandle getter(Method method) {
+        if (!method.trySetAccessible()) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup().unreflect(method).asType(GETTER);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle getter(Field field) {
+        if (!field.trySetAccessible()) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup().unreflectGetter(field).asType(GETTER);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.github.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The tagged binary format described on {@link OutputFormat#BINARY}. Field names are written once per class, so a
+ * stream of records costs little more than their values.
+ */
+final class BinaryEncoder extends StructuredEncoder {
+
+    static final int NULL = 0;
+    static final int FALSE = 1;
+    static final int TRUE = 2;
+    static final int INTEGER = 3;
+    static final int DOUBLE = 4;
+    static final int STRING = 5;
+    static final int LIST = 6;
+    static final int MAP = 7;
+    static final int OBJECT = 8;
+    static final int CLASS = 9;
+
+    private final Map<Accessors, Integer> classes = new IdentityHashMap<>();
+
+    BinaryEncoder(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void record(Object value) throws IOException {
+        value(value, 0);
+    }
+
+    @Override
+    public void record(long value) throws IOException {
+        integer(value);
+    }
+
+    @Override
+    public void record(double value) throws IOException {
+        floating(value);
+    }
+
+    @Override
+    void nullValue() throws IOException {
+        buffer.write(NULL);
+    }
+
+    @Override
+    void bool(boolean value) throws IOException {
+        buffer.write(value ? TRUE : FALSE);
+    }
+
+    @Override
+    void integer(long value) throws IOException {
+        buffer.write(INTEGER);
+        buffer.varint((value << 1) ^ (value >> 63));
+    }
+
+    @Override
+    void floating(double value) throws IOException {
+        buffer.write(DOUBLE);
+        buffer.bigEndian(Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    void floating(float value) throws IOException {
+        floating((double) value);
+    }
+
+    @Override
+    void number(String value) throws IOException {
+        string(value);
+    }
+
+    @Override
+    void string(CharSequence value) throws IOException {
+        buffer.write(STRING);
+        buffer.varint(Utf8Buffer.utf8Length(value));
+        buffer.utf8(value);
+    }
+
+    @Override
+    void beginList(int size) throws IOException {
+        buffer.write(LIST);
+        buffer.varint(size);
+    }
+
+    @Override
+    void element(int index) {
+    }
+
+    @Override
+    void endList() {
+    }
+
+    @Override
+    void beginMap(int size) throws IOException {
+        buffer.write(MAP);
+        buffer.varint(size);
+    }
+
+    @Override
+    void key(int index, String key) throws IOException {
+        string(key);
+    }
+
+    @Override
+    void endMap() {
+    }
+
+    @Override
+    void beginObject(Accessors accessors) throws IOException {
+        Integer id = classes.get(accessors);
+        if (id == null) {
+            id = classes.size();
+            classes.put(accessors, id);
+            buffer.write(CLASS);
+            buffer.varint(id);
+            buffer.varint(accessors.size());
+            for (int i = 0; i < accessors.size(); i++) {
+                string(accessors.name(i));
+            }
+        }
+        buffer.write(OBJECT);
+        buffer.varint(id);
+    }
+
+    @Override
+    void field(Accessors accessors, int index) {
+    }
+
+    @Override
+    void endObject() {
+    }
+}
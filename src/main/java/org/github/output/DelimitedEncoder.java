@@ -0,0 +1,174 @@
+package org.github.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * CSV or TSV. The columns are the fields of the first record, named in a header line, or a single {@code value}
+ * column when it has none. Records of another class fill the columns with fields of the same name. Lists, maps and
+ * objects inside a record are written as JSON.
+ */
+final class DelimitedEncoder extends RecordEncoder {
+
+    private static final String VALUE_COLUMN = "value";
+
+    private final Utf8Buffer buffer;
+    private final char delimiter;
+    private final ByteArrayOutputStream nested = new ByteArrayOutputStream();
+    private final JsonLinesEncoder json = new JsonLinesEncoder(nested);
+    private Accessors columns;
+    private boolean started;
+
+    DelimitedEncoder(OutputStream out, char delimiter) {
+        buffer = new Utf8Buffer(out);
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public void record(Object value) throws IOException {
+        final Accessors accessors = value == null ? null : Accessors.of(value.getClass());
+        if (!started) {
+            started = true;
+            columns = accessors != null && accessors.isStructured() ? accessors : null;
+            header();
+        }
+        if (columns == null) {
+            cell(value);
+        } else if (accessors == columns) {
+            for (int i = 0; i < columns.size(); i++) {
+                delimit(i);
+                cell(columns.get(value, i));
+            }
+        } else if (accessors == null || !accessors.isStructured()) {
+            cell(value);
+            for (int i = 1; i < columns.size(); i++) {
+                delimit(i);
+            }
+        } else {
+            for (int i = 0; i < columns.size(); i++) {
+                delimit(i);
+                final int index = accessors.indexOf(columns.name(i));
+                cell(index < 0 ? null : accessors.get(value, index));
+            }
+        }
+        buffer.write('\n');
+    }
+
+    @Override
+    public void record(long value) throws IOException {
+        if (!started) {
+            started = true;
+            header();
+        }
+        buffer.decimal(value);
+        buffer.write('\n');
+    }
+
+    @Override
+    public void record(double value) throws IOException {
+        record((Object) value);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        buffer.flush();
+    }
+
+    private void header() throws IOException {
+        if (columns == null) {
+            text(VALUE_COLUMN);
+        } else {
+            for (int i = 0; i < columns.size(); i++) {
+                delimit(i);
+                text(columns.name(i));
+            }
+        }
+        buffer.write('\n');
+    }
+
+    private void delimit(int column) throws IOException {
+        if (column > 0) {
+            buffer.write(delimiter);
+        }
+    }
+
+    private void cell(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            buffer.decimal(((Number) value).longValue());
+        } else if (value instanceof CharSequence text) {
+            text(text);
+        } else if (value instanceof Enum<?> constant) {
+            text(constant.name());
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            text(value.toString());
+        } else if (value.getClass().isArray() || value instanceof Iterable<?> || value instanceof Map<?, ?>
+                || Accessors.of(value.getClass()).isStructured()) {
+            nested.reset();
+            json.write(value);
+            json.flush();
+            text(new String(nested.toByteArray(), StandardCharsets.UTF_8));
+        } else {
+            text(value.toString());
+        }
+    }
+
+    private void text(CharSequence value) throws IOException {
+        if (delimiter == '\t') {
+            tabSeparated(value);
+        } else {
+            commaSeparated(value);
+        }
+    }
+
+    private void tabSeparated(CharSequence value) throws IOException {
+        int i = 0;
+        while (i < value.length()) {
+            final char c = value.charAt(i);
+            if (c == '\t') {
+                buffer.ascii("\\t");
+            } else if (c == '\n') {
+                buffer.ascii("\\n");
+            } else if (c == '\r') {
+                buffer.ascii("\\r");
+            } else if (c == '\\') {
+                buffer.ascii("\\\\");
+            } else {
+                i = buffer.utf8(value, i);
+                continue;
+            }
+            i++;
+        }
+    }
+
+    private void commaSeparated(CharSequence value) throws IOException {
+        if (!needsQuotes(value)) {
+            buffer.utf8(value);
+            return;
+        }
+        buffer.write('"');
+        int i = 0;
+        while (i < value.length()) {
+            if (value.charAt(i) == '"') {
+                buffer.write('"');
+            }
+            i = buffer.utf8(value, i);
+        }
+        buffer.write('"');
+    }
+
+    private boolean needsQuotes(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,157 @@
+package org.github.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * One JSON value per line. Objects and maps become JSON objects, and doubles that JSON cannot hold, such as
+ * {@code NaN}, become {@code null}.
+ */
+final class JsonLinesEncoder extends StructuredEncoder {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    JsonLinesEncoder(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void record(Object value) throws IOException {
+        value(value, 0);
+        buffer.write('\n');
+    }
+
+    @Override
+    public void record(long value) throws IOException {
+        integer(value);
+        buffer.write('\n');
+    }
+
+    @Override
+    public void record(double value) throws IOException {
+        floating(value);
+        buffer.write('\n');
+    }
+
+    /**
+     * Writes a value without the new line, for values nested in another format.
+     */
+    void write(Object value) throws IOException {
+        value(value, 0);
+    }
+
+    @Override
+    void nullValue() throws IOException {
+        buffer.ascii("null");
+    }
+
+    @Override
+    void bool(boolean value) throws IOException {
+        buffer.ascii(value ? "true" : "false");
+    }
+
+    @Override
+    void integer(long value) throws IOException {
+        buffer.decimal(value);
+    }
+
+    @Override
+    void floating(double value) throws IOException {
+        if (Double.isFinite(value)) {
+            buffer.ascii(Double.toString(value));
+        } else {
+            nullValue();
+        }
+    }
+
+    @Override
+    void floating(float value) throws IOException {
+        if (Float.isFinite(value)) {
+            buffer.ascii(Float.toString(value));
+        } else {
+            nullValue();
+        }
+    }
+
+    @Override
+    void number(String value) throws IOException {
+        buffer.ascii(value);
+    }
+
+    @Override
+    void string(CharSequence value) throws IOException {
+        buffer.write('"');
+        int i = 0;
+        while (i < value.length()) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.write('\\');
+                buffer.write(c);
+            } else if (c == '\n') {
+                buffer.ascii("\\n");
+            } else if (c == '\r') {
+                buffer.ascii("\\r");
+            } else if (c == '\t') {
+                buffer.ascii("\\t");
+            } else if (c < 0x20) {
+                buffer.ascii("\\u00");
+                buffer.write(HEX[c >> 4]);
+                buffer.write(HEX[c & 0xF]);
+            } else {
+                i = buffer.utf8(value, i);
+                continue;
+            }
+            i++;
+        }
+        buffer.write('"');
+    }
+
+    @Override
+    void beginList(int size) throws IOException {
+        buffer.write('[');
+    }
+
+    @Override
+    void element(int index) throws IOException {
+        if (index > 0) {
+            buffer.write(',');
+        }
+    }
+
+    @Override
+    void endList() throws IOException {
+        buffer.write(']');
+    }
+
+    @Override
+    void beginMap(int size) throws IOException {
+        buffer.write('{');
+    }
+
+    @Override
+    void key(int index, String key) throws IOException {
+        element(index);
+        string(key);
+        buffer.write(':');
+    }
+
+    @Override
+    void endMap() throws IOException {
+        buffer.write('}');
+    }
+
+    @Override
+    void beginObject(Accessors accessors) throws IOException {
+        beginMap(accessors.size());
+    }
+
+    @Override
+    void field(Accessors accessors, int index) throws IOException {
+        key(index, accessors.name(index));
+    }
+
+    @Override
+    void endObject() throws IOException {
+        endMap();
+    }
+}
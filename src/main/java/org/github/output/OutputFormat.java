@@ -0,0 +1,61 @@
+package org.github.output;
+
+import java.io.OutputStream;
+
+/**
+ * How returned values are printed, chosen with {@code --format}. Records and objects with getters or public fields are
+ * written field by field in the structured formats, collections and arrays as lists, and everything else as its
+ * {@code toString()}.
+ */
+public enum OutputFormat {
+    /** One {@code toString()} per line, the default. */
+    TEXT,
+    /** One JSON value per line. */
+    JSONL,
+    /** Comma separated values with a header line, quoted as in RFC 4180. */
+    CSV,
+    /** Tab separated values with a header line, with tabs, new lines and backslashes escaped as {@code \t}, {@code \n} and {@code \\}. */
+    TSV,
+    /**
+     * Tagged values, one after the other. Each value starts with a tag byte: {@code 0} null, {@code 1} false,
+     * {@code 2} true, {@code 3} an integer as a zig-zag varint, {@code 4} a big-endian IEEE 754 double, {@code 5} a
+     * string as a varint byte length and UTF-8, {@code 6} a list as a varint count and the values, {@code 7} a map as a
+     * varint count and the keys and values. A record or object is {@code 8}, the varint id of its class and then its
+     * field values. The first time a class shows up, its id is defined by a {@code 9}, the varint id, a varint count
+     * and the field names as strings, straight before its first value.
+     */
+    BINARY;
+
+    /**
+     * Reads the value of the {@code --format} flag, {@code text} when it is null.
+     */
+    public static OutputFormat named(String name) {
+        if (name == null) {
+            return TEXT;
+        }
+        for (OutputFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown output format \"" + name + "\". Use text, jsonl, csv, tsv or binary");
+    }
+
+    /**
+     * A new encoder writing to {@code out}. It buffers what it writes, so it has to be flushed.
+     */
+    public RecordEncoder encoder(OutputStream out) {
+        switch (this) {
+            case JSONL:
+                return new JsonLinesEncoder(out);
+            case CSV:
+                return new DelimitedEncoder(out, ',');
+            case TSV:
+                return new DelimitedEncoder(out, '\t');
+            case BINARY:
+                return new BinaryEncoder(out);
+            default:
+                return new TextEncoder(out);
+        }
+    }
+}
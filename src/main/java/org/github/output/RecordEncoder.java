@@ -0,0 +1,28 @@
+package org.github.output;
+
+import java.io.IOException;
+
+/**
+ * Writes returned values one record at a time into a buffer that is reused for every record, and which is written
+ * out when it is full or flushed. Encoders are not thread safe, each write of a result uses its own.
+ */
+public abstract class RecordEncoder {
+
+    public abstract void record(Object value) throws IOException;
+
+    /**
+     * Writes an element of a {@code long[]} or {@code int[]}, without boxing it.
+     */
+    public void record(long value) throws IOException {
+        record((Object) value);
+    }
+
+    /**
+     * Writes an element of a {@code double[]}, without boxing it.
+     */
+    public void record(double value) throws IOException {
+        record((Object) value);
+    }
+
+    public abstract void flush() throws IOException;
+}
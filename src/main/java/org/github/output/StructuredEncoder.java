@@ -0,0 +1,160 @@
+package org.github.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Walks a value into the calls of a structured format: scalars, lists, maps and objects, with the fields of records
+ * and other objects read through their cached {@link Accessors}. Values nested deeper than {@value #MAX_DEPTH}
+ * levels, which is usually a cycle, are written as their {@code toString()}.
+ */
+abstract class StructuredEncoder extends RecordEncoder {
+
+    private static final int MAX_DEPTH = 32;
+
+    final Utf8Buffer buffer;
+
+    StructuredEncoder(OutputStream out) {
+        buffer = new Utf8Buffer(out);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        buffer.flush();
+    }
+
+    final void value(Object value, int depth) throws IOException {
+        if (value == null) {
+            nullValue();
+        } else if (value instanceof CharSequence text) {
+            string(text);
+        } else if (value instanceof Boolean bool) {
+            bool(bool);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            integer(((Number) value).longValue());
+        } else if (value instanceof Double number) {
+            floating(number);
+        } else if (value instanceof Float number) {
+            floating(number);
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            number(value.toString());
+        } else if (value instanceof Enum<?> constant) {
+            string(constant.name());
+        } else if (value instanceof Optional<?> optional) {
+            value(optional.orElse(null), depth);
+        } else if (depth >= MAX_DEPTH || value instanceof Path) {
+            string(value.toString());
+        } else if (value instanceof Map<?, ?> map) {
+            map(map, depth);
+        } else if (value instanceof Collection<?> collection) {
+            list(collection.size(), collection.iterator(), depth);
+        } else if (value instanceof Iterable<?> iterable) {
+            final List<Object> elements = new ArrayList<>();
+            iterable.forEach(elements::add);
+            list(elements.size(), elements.iterator(), depth);
+        } else if (value.getClass().isArray()) {
+            array(value, depth);
+        } else {
+            final Accessors accessors = Accessors.of(value.getClass());
+            if (accessors.isStructured()) {
+                object(accessors, value, depth);
+            } else {
+                string(value.toString());
+            }
+        }
+    }
+
+    private void map(Map<?, ?> map, int depth) throws IOException {
+        beginMap(map.size());
+        int index = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            key(index++, String.valueOf(entry.getKey()));
+            value(entry.getValue(), depth + 1);
+        }
+        endMap();
+    }
+
+    private void list(int size, Iterator<?> elements, int depth) throws IOException {
+        beginList(size);
+        for (int i = 0; i < size && elements.hasNext(); i++) {
+            element(i);
+            value(elements.next(), depth + 1);
+        }
+        endList();
+    }
+
+    private void array(Object array, int depth) throws IOException {
+        final int length = Array.getLength(array);
+        beginList(length);
+        for (int i = 0; i < length; i++) {
+            element(i);
+            if (array instanceof int[] ints) {
+                integer(ints[i]);
+            } else if (array instanceof long[] longs) {
+                integer(longs[i]);
+            } else if (array instanceof double[] doubles) {
+                floating(doubles[i]);
+            } else {
+                value(Array.get(array, i), depth + 1);
+            }
+        }
+        endList();
+    }
+
+    private void object(Accessors accessors, Object value, int depth) throws IOException {
+        beginObject(accessors);
+        for (int i = 0; i < accessors.size(); i++) {
+            field(accessors, i);
+            value(accessors.get(value, i), depth + 1);
+        }
+        endObject();
+    }
+
+    abstract void nullValue() throws IOException;
+
+    abstract void bool(boolean value) throws IOException;
+
+    abstract void integer(long value) throws IOException;
+
+    abstract void floating(double value) throws IOException;
+
+    /**
+     * Writes a float as it reads, rather than as the double closest to it.
+     */
+    abstract void floating(float value) throws IOException;
+
+    /**
+     * A number too large for a long or double, as its decimal text.
+     */
+    abstract void number(String value) throws IOException;
+
+    abstract void string(CharSequence value) throws IOException;
+
+    abstract void beginList(int size) throws IOException;
+
+    abstract void element(int index) throws IOException;
+
+    abstract void endList() throws IOException;
+
+    abstract void beginMap(int size) throws IOException;
+
+    abstract void key(int index, String key) throws IOException;
+
+    abstract void endMap() throws IOException;
+
+    abstract void beginObject(Accessors accessors) throws IOException;
+
+    abstract void field(Accessors accessors, int index) throws IOException;
+
+    abstract void endObject() throws IOException;
+}
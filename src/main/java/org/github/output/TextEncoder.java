@@ -0,0 +1,45 @@
+package org.github.output;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * One {@code toString()} per line, in the platform charset.
+ */
+final class TextEncoder extends RecordEncoder {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Writer writer;
+
+    TextEncoder(OutputStream out) {
+        writer = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()), BUFFER_SIZE);
+    }
+
+    @Override
+    public void record(Object value) throws IOException {
+        writer.write(String.valueOf(value));
+        writer.write(System.lineSeparator());
+    }
+
+    @Override
+    public void record(long value) throws IOException {
+        writer.write(Long.toString(value));
+        writer.write(System.lineSeparator());
+    }
+
+    @Override
+    public void record(double value) throws IOException {
+        writer.write(Double.toString(value));
+        writer.write(System.lineSeparator());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
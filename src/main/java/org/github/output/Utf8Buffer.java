@@ -0,0 +1,147 @@
+package org.github.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A byte buffer in front of an output stream, with the encodings the structured formats need. Numbers and strings
+ * are encoded straight into the buffer, without building strings first.
+ */
+final class Utf8Buffer {
+
+    private static final int SIZE = 8192;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[SIZE];
+    private int position;
+
+    Utf8Buffer(OutputStream out) {
+        this.out = out;
+    }
+
+    void write(int value) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    void ascii(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            write(value.charAt(i));
+        }
+    }
+
+    /**
+     * Writes {@code value} as decimal digits.
+     */
+    void decimal(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            ascii("-9223372036854775808");
+            return;
+        }
+        if (value < 0) {
+            write('-');
+            value = -value;
+        }
+        if (buffer.length - position < 19) {
+            drain();
+        }
+        final int length = digits(value);
+        int end = position + length;
+        position = end;
+        do {
+            buffer[--end] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+    }
+
+    private static int digits(long value) {
+        int reply = 1;
+        while (value >= 10) {
+            value /= 10;
+            reply++;
+        }
+        return reply;
+    }
+
+    void utf8(char value) throws IOException {
+        if (value < 0x80) {
+            write(value);
+        } else if (value < 0x800) {
+            write(0xC0 | (value >> 6));
+            write(0x80 | (value & 0x3F));
+        } else {
+            write(0xE0 | (value >> 12));
+            write(0x80 | ((value >> 6) & 0x3F));
+            write(0x80 | (value & 0x3F));
+        }
+    }
+
+    /**
+     * Writes the character at {@code index}, returning the index of the next one. Surrogate pairs are written as one
+     * four byte sequence.
+     */
+    int utf8(CharSequence value, int index) throws IOException {
+        final char c = value.charAt(index);
+        if (Character.isHighSurrogate(c) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+            final int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+            write(0xF0 | (codePoint >> 18));
+            write(0x80 | ((codePoint >> 12) & 0x3F));
+            write(0x80 | ((codePoint >> 6) & 0x3F));
+            write(0x80 | (codePoint & 0x3F));
+            return index + 2;
+        }
+        utf8(c);
+        return index + 1;
+    }
+
+    void utf8(CharSequence value) throws IOException {
+        int i = 0;
+        while (i < value.length()) {
+            i = utf8(value, i);
+        }
+    }
+
+    static int utf8Length(CharSequence value) {
+        int reply = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                reply += 1;
+            } else if (c < 0x800) {
+                reply += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                reply += 4;
+                i++;
+            } else {
+                reply += 3;
+            }
+        }
+        return reply;
+    }
+
+    void varint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        write((int) value);
+    }
+
+    void bigEndian(long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            write((int) (value >>> shift));
+        }
+    }
+
+    void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
@@ -0,0 +1,42 @@
+# bash completion for @PROGRAM@, generated by org.github.Completions. Source it, e.g. from ~/.bashrc.
+# It only reads the index written next to it, so completing never starts a JVM.
+@FUNCTION@() {
+    local index='@INDEX@'
+    local cur=${COMP_WORDS[COMP_CWORD]} key=_ flag= next word words i end=$COMP_CWORD
+    # bash splits --name=value into "--name" "=" "value"
+    if [[ $cur == = ]]; then
+        flag=${COMP_WORDS[COMP_CWORD-1]}
+        cur=
+        end=$((COMP_CWORD - 1))
+    elif [[ ${COMP_WORDS[COMP_CWORD-1]} == = ]]; then
+        flag=${COMP_WORDS[COMP_CWORD-2]}
+        end=$((COMP_CWORD - 2))
+    fi
+    for ((i = 1; i < end; i++)); do
+        word=${COMP_WORDS[i]}
+        if [[ $word == -- ]]; then
+            key=--
+            continue
+        fi
+        [[ $word == -* || $word == = || ${COMP_WORDS[i-1]} == = ]] && continue
+        if [[ $key == _ ]]; then next=$word; else next=$key.$word; fi
+        [[ -f $index/$next ]] && key=$next
+    done
+    if [[ -n $flag ]]; then
+        [[ -f $index/$key.$flag ]] || return 0
+        read -r -d '' words < "$index/$key.$flag"
+        if [[ $words == :file* ]]; then
+            COMPREPLY=($(compgen -f -- "$cur"))
+        else
+            COMPREPLY=($(compgen -W "$words" -- "$cur"))
+        fi
+        return 0
+    fi
+    [[ -f $index/$key ]] || return 0
+    read -r -d '' words < "$index/$key"
+    COMPREPLY=($(compgen -W "$words" -- "$cur"))
+    if [[ ${#COMPREPLY[@]} == 1 && ${COMPREPLY[0]} == *= ]]; then
+        compopt -o nospace
+    fi
+}
+complete -F @FUNCTION@ @PROGRAM@
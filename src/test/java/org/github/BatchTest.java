@@ -0,0 +1,67 @@
+package org.github;
+
+import org.github.converter.TypeConverter;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BatchTest {
+
+    private final Map<Class<?>, TypeConverter> converters = new HashMap<>();
+    private final ByteArrayOutputStream reported = new ByteArrayOutputStream();
+    private final Batch unit = new Batch(new InternalFire(converters), new PrintStream(reported, true));
+
+    @Test
+    void canRunEveryLine() throws Exception {
+        final Counter counter = new Counter();
+        final Batch.Report report = unit.run(counter, lines("add --amount=1\n\n# a comment\nadd --amount=2\nadd --amount=3\n"));
+        assertThat(counter.total, is(6));
+        assertThat(report.succeeded(), is(3));
+        assertThat(report.failed(), is(0));
+    }
+
+    @Test
+    void carriesOnAfterAFailingLine() throws Exception {
+        final Counter counter = new Counter();
+        final Batch.Report report = unit.run(counter, lines("add --amount=1\nadd --amount=one\nsubtract --amount=1\nadd --amount=2\n"));
+        assertThat(counter.total, is(3));
+        assertThat(report.succeeded(), is(2));
+        assertThat(report.failed(), is(2));
+        final String[] reportedLines = reported.toString().split("\n");
+        assertThat(reportedLines[0], is("line 1: ok"));
+        assertThat(reportedLines[1], is("line 2: failed: For input string: \"one\" for parameter: \"amount\". Please register converters for non basic objects"));
+        assertThat(reportedLines[2].startsWith("line 3: failed: Method \"subtract\" is not found."), is(true));
+    }
+
+    @Test
+    void canSplitQuotedArguments() {
+        assertThat(Batch.split("hello --shouldPrint=true \"--who=there gorgeous!\""), is(new String[]{"hello", "--shouldPrint=true", "--who=there gorgeous!"}));
+        assertThat(Batch.split("hello --who='a \"b\"' --what=c\\ d"), is(new String[]{"hello", "--who=a \"b\"", "--what=c d"}));
+    }
+
+    @Test
+    void cannotSplitUnterminatedQuotes() {
+        assertThrows(IllegalArgumentException.class, () -> Batch.split("hello \"--who=there"));
+    }
+
+    private BufferedReader lines(String lines) {
+        return new BufferedReader(new StringReader(lines));
+    }
+
+    class Counter {
+        int total = 0;
+
+        public void add(int amount) {
+            total += amount;
+        }
+    }
+}
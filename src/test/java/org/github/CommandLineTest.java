@@ -0,0 +1,69 @@
+package org.github;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CommandLineTest {
+
+    @Test
+    void readsMethodNameAndNamedParameters() {
+        final CommandLine unit = CommandLine.parse("run", "--who=you", "--times=3");
+        assertThat(unit.methodName(), is("run"));
+        assertThat(unit.named(), is(Map.of("who", "you", "times", "3")));
+        assertThat(unit.positional(), is(List.of()));
+    }
+
+    @Test
+    void keepsEverythingAfterTheFirstEquals() {
+        assertThat(CommandLine.parse("run", "--query=a=b&c=d").named(), is(Map.of("query", "a=b&c=d")));
+    }
+
+    @Test
+    void trimsNamesAndValues() {
+        assertThat(CommandLine.parse("run", "--who = you ").named(), is(Map.of("who", "you")));
+    }
+
+    @Test
+    void flagsWithoutAValueAreTrue() {
+        assertThat(CommandLine.parse("run", "--verbose").named(), is(Map.of("verbose", "true")));
+    }
+
+    @Test
+    void repeatedParametersKeepEachValue() {
+        final CommandLine unit = CommandLine.parse("run", "--id=1", "--who=me", "--id=2,3", "--id=4");
+        assertThat(unit.named(), is(Map.of("id", "1", "who", "me")));
+        assertThat(unit.repeated(), is(Map.of("id", List.of("1", "2,3", "4"))));
+    }
+
+    @Test
+    void everythingElseIsPositional() {
+        final CommandLine unit = CommandLine.parse("copy", "from.txt", "--force", "-", "--", "to.txt");
+        assertThat(unit.positional(), is(List.of("from.txt", "-", "--", "to.txt")));
+        assertThat(unit.named(), is(Map.of("force", "true")));
+    }
+
+    @Test
+    void scalesToManyArguments() {
+        final String[] args = new String[200_001];
+        args[0] = "sum";
+        for (int i = 1; i < args.length; i++) {
+            args[i] = "--value=" + i;
+        }
+        final List<String> values = CommandLine.parse(args).repeated().get("value");
+        assertThat(values.size(), is(200_000));
+        assertThat(values.get(0), is("1"));
+        assertThat(values.get(199_999), is("200000"));
+    }
+
+    @Test
+    void needsAMethodName() {
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, CommandLine::parse);
+        assertThat(thrown.getMessage(), is("Please pass the public method name that you would like to call"));
+    }
+}
@@ -0,0 +1,101 @@
+package org.github;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CommandRegistryTest {
+
+    static boolean initialized;
+
+    @FireCommand(name = "registered")
+    public static class Registered {
+        static {
+            initialized = true;
+        }
+
+        public String hello(String who) {
+            return "Hello " + who;
+        }
+    }
+
+    @FireCommand
+    public static class NeedsArguments {
+        public NeedsArguments(String name) {
+        }
+
+        public void run() {
+        }
+    }
+
+    private final Path directory = Files.createTempDirectory("jfire");
+
+    public CommandRegistryTest() throws IOException {
+    }
+
+    @Test
+    void listsTheClassesOfTheProcessor() {
+        final CommandRegistry registry = CommandRegistry.load(getClass().getClassLoader());
+        assertThat(registry.names().contains("registered"), is(true));
+        assertThat(registry.names().contains("needsArguments"), is(true));
+        assertThat(registry.names().contains("commandLineApp"), is(true));
+    }
+
+    @Test
+    void loadsOnlyTheClassThatIsAskedFor() {
+        final CommandRegistry registry = CommandRegistry.load(getClass().getClassLoader());
+        registry.create("commandLineApp");
+        assertThat(initialized, is(false));
+        final Object registered = registry.create("registered");
+        assertThat(initialized, is(true));
+        assertThat(registered.getClass() == Registered.class, is(true));
+    }
+
+    @Test
+    void namesTheCommandsWhenOneIsNotFound() throws IOException {
+        final CommandRegistry registry = CommandRegistry.load(loader(list("a", "a=org.example.A\nb=org.example.B\n")));
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> registry.create("c"));
+        assertThat(thrown.getMessage(), is("Command \"c\" is not found. \nCommands are: \"a, b\""));
+        final IllegalArgumentException missing = assertThrows(IllegalArgumentException.class, () -> registry.create(null));
+        assertThat(missing.getMessage(), is("Please choose a command. \nCommands are: \"a, b\""));
+    }
+
+    @Test
+    void rejectsClassesWithoutAConstructorWithoutParameters() {
+        final CommandRegistry registry = CommandRegistry.load(getClass().getClassLoader());
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> registry.create("needsArguments"));
+        assertThat(thrown.getMessage(), is("The command \"needsArguments\" cannot be created, as "
+                + NeedsArguments.class.getName() + " has no public constructor without parameters"));
+    }
+
+    @Test
+    void rejectsANameRegisteredForTwoClasses() throws IOException {
+        final ClassLoader loader = loader(list("a", "# comment\nsame=org.example.A\n"), list("b", "same=org.example.B\n"));
+        final IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> CommandRegistry.load(loader));
+        assertThat(thrown.getMessage(), is("The command \"same\" is registered for both org.example.A and org.example.B"));
+    }
+
+    private Path list(String jar, String content) throws IOException {
+        final Path root = directory.resolve(jar);
+        final Path file = root.resolve(CommandRegistry.RESOURCE);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        return root;
+    }
+
+    private static ClassLoader loader(Path... roots) throws IOException {
+        final URL[] urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            urls[i] = roots[i].toUri().toURL();
+        }
+        return new URLClassLoader(urls, null);
+    }
+}
@@ -0,0 +1,87 @@
+package org.github;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class CompletionsTest {
+
+    private final Path directory = Files.createTempDirectory("jfire");
+
+    public CompletionsTest() throws IOException {
+    }
+
+    @Test
+    void writesTheWordsThatCanFollowEachPrefixOncePerClass() throws IOException {
+        Completions.write(Cli.class, "cli", directory);
+        assertThat(index("_"), is(List.of("admin", "hello", "users")));
+        assertThat(index("hello"), is(List.of("--colour=", "--loud=", "--times=", "--who=")));
+        assertThat(index("hello.--colour"), is(List.of("BLUE", "RED")));
+        assertThat(index("hello.--loud"), is(List.of("false", "true")));
+        assertThat(index("users"), is(List.of("add", "list")));
+        assertThat(index("users.list"), is(List.of("--from=", "--limit=")));
+        assertThat(index("users.list.--from"), is(List.of(":file")));
+        assertThat(Files.exists(index().resolve("admin")), is(false));
+        assertThat(Files.exists(index().resolve("hello.--who")), is(false));
+        assertThat(index("--.--format"), is(List.of("binary", "csv", "jsonl", "text", "tsv")));
+    }
+
+    @Test
+    void writesScriptsReadingTheIndex() throws IOException {
+        Completions.write(Cli.class, "my-cli", directory);
+        final String bash = Files.readString(directory.resolve("my-cli.bash"));
+        final String zsh = Files.readString(directory.resolve("_my-cli"));
+        assertThat(bash.contains("local index='" + directory.toAbsolutePath().resolve("my-cli.index") + "'"), is(true));
+        assertThat(bash.contains("complete -F _jfire_my_cli my-cli"), is(true));
+        assertThat(zsh.startsWith("#compdef my-cli"), is(true));
+        assertThat(zsh.contains("compdef _jfire_my_cli my-cli"), is(true));
+    }
+
+    @Test
+    void removesWordsOfCommandsThatAreGone() throws IOException {
+        Files.createDirectories(index());
+        Files.writeString(index().resolve("removed"), "--old=");
+        Completions.write(Cli.class, "cli", directory);
+        assertThat(Files.exists(index().resolve("removed")), is(false));
+    }
+
+    private Path index() {
+        return directory.resolve("cli.index");
+    }
+
+    private List<String> index(String key) throws IOException {
+        return Files.readAllLines(index().resolve(key));
+    }
+
+    enum Colour {RED, BLUE}
+
+    public static class Cli {
+        public final Supplier<Users> users = Users::new;
+
+        public void hello(String who, boolean loud, Colour colour) {
+        }
+
+        public void hello(String who, int times) {
+        }
+
+        public Cli admin() {
+            return this;
+        }
+    }
+
+    public static class Users {
+        public void add(String name) {
+        }
+
+        public List<String> list(int limit, Path from) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.github;
+
+import org.github.converter.TypeConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConcurrentCommandsTest {
+
+    private static final String NEW_LINE = System.lineSeparator();
+
+    private final Map<Class<?>, TypeConverter> converters = new HashMap<>();
+    private final PrintStream originalOut = System.out;
+    private final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+    private final InternalFire unit = new InternalFire(converters);
+
+    @BeforeEach
+    void captureOut() {
+        System.setOut(new PrintStream(printed, true));
+    }
+
+    @AfterEach
+    void restoreOut() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void splitsOnStandalonePlus() {
+        final List<String[]> commands = ConcurrentCommands.split("a", "--x=+", "+", "b");
+        assertThat(commands.size(), is(2));
+        assertThat(commands.get(0), is(new String[]{"a", "--x=+"}));
+        assertThat(commands.get(1), is(new String[]{"b"}));
+    }
+
+    @Test
+    void runsCommandsAtTheSameTimeAndPrintsInTheOrderTheyComplete() {
+        final Latched latched = new Latched();
+        unit.fire(latched, "await", "+", "release");
+        assertThat(printed.toString(), is("released" + NEW_LINE + "awaited" + NEW_LINE));
+    }
+
+    @Test
+    void waitsForReturnedFutures() {
+        unit.fire(new Latched(), "later", "--value=1", "+", "later", "--value=2");
+        final String output = printed.toString();
+        assertThat(output.contains("later1" + NEW_LINE), is(true));
+        assertThat(output.contains("later2" + NEW_LINE), is(true));
+    }
+
+    @Test
+    void reportsEveryFailureOnceAllCommandsHaveRun() {
+        final Latched latched = new Latched();
+        final RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> unit.fire(latched, "fail", "+", "count", "+", "fail"));
+        assertThat(thrown.getMessage(), is("2 of 3 commands failed:" + NEW_LINE + "fail: boom" + NEW_LINE + "fail: boom"));
+        assertThat(latched.counted.get(), is(1));
+    }
+
+    @Test
+    void runsNothingWhenACommandCannotBeFound() {
+        final Latched latched = new Latched();
+        assertThrows(IllegalArgumentException.class, () -> unit.fire(latched, "count", "+", "missing"));
+        assertThat(latched.counted.get(), is(0));
+    }
+
+    @Test
+    void rejectsEmptyCommands() {
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> unit.fire(new Latched(), "count", "+"));
+        assertThat(thrown.getMessage(), is("Please pass the public method name that you would like to call"));
+    }
+
+    public static class Latched {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final AtomicInteger counted = new AtomicInteger();
+
+        public String await() throws InterruptedException {
+            final boolean released = latch.await(5, TimeUnit.SECONDS);
+            Thread.sleep(100);
+            return released ? "awaited" : "timed out";
+        }
+
+        public String release() {
+            latch.countDown();
+            return "released";
+        }
+
+        public CompletableFuture<String> later(int value) {
+            return CompletableFuture.supplyAsync(() -> "later" + value);
+        }
+
+        public void count() {
+            counted.incrementAndGet();
+        }
+
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
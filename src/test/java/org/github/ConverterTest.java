@@ -1,9 +1,29 @@
 package org.github;
 
 import org.github.converter.Converter;
+import org.github.converter.PureConverter;
+import org.github.converter.TypeConverter;
+import org.github.converter.Types;
 import org.junit.jupiter.api.Test;
 
-import java.util.HashMap;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -138,6 +158,177 @@ public class ConverterTest {
         });
     }
 
+    @Test
+    void canConvertPrimitivesWithoutBoxing() {
+        assertThat(unit.intConverter().convert(new StringBuilder("-12")), is(-12));
+        assertThat(unit.longConverter().convert(new StringBuilder("12345678901")), is(12345678901L));
+        assertThat(unit.doubleConverter().convert("1.5"), is(1.5d));
+        assertThat(unit.booleanConverter().convert(new StringBuilder("True")), is(true));
+    }
+
+    @Test
+    void cannotConvertOneToIntWithoutBoxing() {
+        assertThrows(IllegalArgumentException.class, () -> unit.intConverter().convert("one"));
+        assertThrows(IllegalArgumentException.class, () -> unit.booleanConverter().convert("yes"));
+    }
+
+    @Test
+    void registeredConvertersAreUsedForPrimitives() {
+        final Map<Class<?>, TypeConverter> converters = new HashMap<>();
+        converters.put(Integer.TYPE, value -> value.length());
+        assertThat(new Converter(converters).intConverter().convert("four"), is(4));
+    }
+
+    @Test
+    void canConvertEnums() {
+        assertThat(unit.convert("BLUE", Colour.class), is(Colour.BLUE));
+        assertThat(unit.convert("red", Colour.class), is(Colour.RED));
+        assertThrows(IllegalArgumentException.class, () -> unit.convert("green", Colour.class));
+    }
+
+    @Test
+    void canConvertArrays() {
+        assertThat(unit.convert("1, 2,3", int[].class), is(new int[]{1, 2, 3}));
+        assertThat(unit.convert("a,b", String[].class), is(new String[]{"a", "b"}));
+        assertThat(unit.convert("", String[].class), is(new String[0]));
+    }
+
+    @Test
+    void convertsPrimitiveArraysWithoutBoxing() {
+        assertThat(unit.convert(" 7 ,-8", int[].class), is(new int[]{7, -8}));
+        assertThat(unit.convert("12345678901,2", long[].class), is(new long[]{12345678901L, 2}));
+        assertThat(unit.convert("0.5, 1e3", double[].class), is(new double[]{0.5, 1000}));
+        assertThat(unit.convert("", long[].class), is(new long[0]));
+        assertThat(unit.convert("null", double[].class), is(nullValue()));
+        final NumberFormatException thrown = assertThrows(NumberFormatException.class, () -> unit.convert("1,two", int[].class));
+        assertThat(thrown.getMessage(), is("Cannot convert value \"two\" to int"));
+        assertThrows(NumberFormatException.class, () -> unit.convert("1,2,", int[].class));
+    }
+
+    @Test
+    void failsWithoutStackTraces() {
+        final NumberFormatException number = assertThrows(NumberFormatException.class, () -> unit.convert("many", int.class));
+        assertThat(number.getMessage(), is("For input string: \"many\""));
+        assertThat(number.getStackTrace().length, is(0));
+        assertThat(assertThrows(NumberFormatException.class, () -> unit.convert("-", long.class)).getStackTrace().length, is(0));
+        assertThat(assertThrows(NumberFormatException.class, () -> unit.convert("1.2.3", double.class)).getStackTrace().length, is(0));
+        assertThat(assertThrows(IllegalArgumentException.class, () -> unit.convert("maybe", boolean.class)).getStackTrace().length, is(0));
+        assertThat(assertThrows(IllegalArgumentException.class, () -> unit.convert("yesterday", LocalDate.class)).getStackTrace().length, is(0));
+        assertThat(unit.convert("-12", int.class), is(-12));
+        assertThat(unit.convert("NaN", double.class), is(Double.NaN));
+        assertThat(unit.convert("-Infinity", double.class), is(Double.NEGATIVE_INFINITY));
+    }
+
+    @Test
+    void convertsLongPrimitiveArraysInChunks() {
+        final int size = 200_000;
+        final StringBuilder input = new StringBuilder();
+        final long[] expected = new long[size];
+        for (int i = 0; i < size; i++) {
+            expected[i] = i * 7919L - 1_000_000;
+            input.append(i == 0 ? "" : i % 3 == 0 ? ", " : ",").append(expected[i]);
+        }
+        assertThat(unit.convert(input.toString(), long[].class), is(expected));
+        final int[] ints = (int[]) unit.convert(input.toString(), int[].class);
+        assertThat(ints.length, is(size));
+        assertThat(ints[size - 1], is((int) expected[size - 1]));
+        assertThrows(NumberFormatException.class, () -> unit.convert(input + ",", long[].class));
+        assertThrows(NumberFormatException.class, () -> unit.convert(input + ",x," + input, long[].class));
+    }
+
+    @Test
+    void usesRegisteredConvertersForArrayElements() {
+        final Converter doubling = new Converter(Map.of(Integer.TYPE, input -> Integer.parseInt(input) * 2));
+        assertThat(doubling.convert("1,2", int[].class), is(new int[]{2, 4}));
+    }
+
+    @Test
+    void canConvertLists() {
+        assertThat(unit.converterFor(Types.parameterized(List.class, Integer.class)).convert("1,2"), is(List.of(1, 2)));
+        assertThat(unit.converterFor(List.class).convert("a,b"), is(List.of("a", "b")));
+    }
+
+    @Test
+    void canConvertSets() {
+        assertThat(unit.converterFor(Types.parameterized(Set.class, Colour.class)).convert("red,blue,red"), is(Set.of(Colour.RED, Colour.BLUE)));
+    }
+
+    @Test
+    void canConvertMaps() {
+        assertThat(unit.converterFor(Types.parameterized(Map.class, String.class, Long.class)).convert("a=1, b=2"), is(Map.of("a", 1L, "b", 2L)));
+        assertThrows(IllegalArgumentException.class, () -> unit.converterFor(Types.parameterized(Map.class, String.class, Long.class)).convert("a"));
+    }
+
+    @Test
+    void canConvertOptionals() {
+        final TypeConverter optional = unit.converterFor(Types.parameterized(Optional.class, Integer.class));
+        assertThat(optional.convert("1"), is(Optional.of(1)));
+        assertThat(optional.convert("null"), is(Optional.empty()));
+    }
+
+    @Test
+    void canConvertRecords() {
+        assertThat(unit.convert("1,2", Point.class), is(new Point(1, 2)));
+        assertThrows(IllegalArgumentException.class, () -> unit.convert("1", Point.class));
+    }
+
+    @Test
+    void canConvertNestedGenerics() {
+        final TypeConverter lists = unit.converterFor(Types.parameterized(List.class, Types.arrayOf(Types.parameterized(Optional.class, String.class))));
+        final List<?> reply = (List<?>) lists.convert("a,b");
+        assertThat(reply.get(1), is(new Optional<?>[]{Optional.of("b")}));
+    }
+
+    @Test
+    void reusesConvertersForTheSameType() throws Exception {
+        final Type reflected = Sample.class.getMethod("call", List.class).getGenericParameterTypes()[0];
+        assertThat(unit.converterFor(reflected) == unit.converterFor(Types.parameterized(List.class, Integer.class)), is(true));
+    }
+
+    @Test
+    void canConvertPaths() {
+        assertThat(unit.convert("@/tmp/in.txt", Path.class), is(Path.of("/tmp/in.txt")));
+        assertThat(unit.convert("in.txt", Path.class), is(Path.of("in.txt")));
+    }
+
+    @Test
+    void canMapFilesIntoByteBuffers() throws Exception {
+        final Path file = Files.createTempFile("jfire", ".bin");
+        try {
+            Files.write(file, new byte[]{1, 2, 3});
+            final Object reply = unit.convert("@" + file, ByteBuffer.class);
+            assertThat(reply instanceof MappedByteBuffer, is(true));
+            assertThat(((ByteBuffer) reply).remaining(), is(3));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void cannotMapMissingFiles() {
+        assertThrows(IllegalArgumentException.class, () -> unit.convert("@/does/not/exist", MappedByteBuffer.class));
+    }
+
+    @Test
+    void canReadInlineValues() throws Exception {
+        try (InputStream reply = (InputStream) unit.convert("abc", InputStream.class)) {
+            assertThat(new String(reply.readAllBytes()), is("abc"));
+        }
+    }
+
+    @Test
+    void canStreamLinesOfAFile() throws Exception {
+        final Path file = Files.createTempFile("jfire", ".txt");
+        try {
+            Files.write(file, List.of("1", "2", "3"));
+            try (Stream<?> reply = (Stream<?>) unit.converterFor(Types.parameterized(Stream.class, Integer.class)).convert("@" + file)) {
+                assertThat(reply.collect(Collectors.toList()), is(List.of(1, 2, 3)));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     @Test
     void cannotConvertConverter() {
         assertThrows(IllegalArgumentException.class, () -> {
@@ -145,5 +336,155 @@ public class ConverterTest {
         });
     }
 
+    @Test
+    void convertsSuppliersOnFirstUse() {
+        final int[] conversions = {0};
+        final Converter lazy = new Converter(Map.of(Point.class, input -> {
+            conversions[0]++;
+            return new Point(1, 2);
+        }));
+        final Supplier<?> reply = (Supplier<?>) lazy.converterFor(Types.parameterized(Supplier.class, Point.class)).convert("1,2");
+        assertThat(conversions[0], is(0));
+        assertThat(reply.get(), is(new Point(1, 2)));
+        assertThat(reply.get(), is(new Point(1, 2)));
+        assertThat(conversions[0], is(1));
+    }
+
+    @Test
+    void reportsFailuresOfSuppliersWhenTheyAreUsed() {
+        final Supplier<?> reply = (Supplier<?>) unit.converterFor(Types.parameterized(Supplier.class, Integer.class)).convert("one");
+        assertThrows(NumberFormatException.class, reply::get);
+    }
+
+    @Test
+    void remembersConversionsOfPureConverters() {
+        final int[] conversions = {0};
+        final PureConverter points = input -> {
+            conversions[0]++;
+            return new Point(Integer.parseInt(input), 0);
+        };
+        final Converter cached = new Converter(Map.of(Point.class, points), 2);
+        assertThat(cached.converterFor(Types.parameterized(List.class, Point.class)).convert("1,2,1,2"), is(List.of(new Point(1, 0), new Point(2, 0), new Point(1, 0), new Point(2, 0))));
+        assertThat(conversions[0], is(2));
+        cached.convert("3", Point.class);
+        cached.convert("1", Point.class);
+        assertThat(conversions[0], is(4));
+    }
+
+    @Test
+    void remembersConversionsOnManyThreadsAtOnce() throws Exception {
+        final AtomicInteger conversions = new AtomicInteger();
+        final PureConverter points = input -> {
+            conversions.incrementAndGet();
+            return new Point(Integer.parseInt(input), 0);
+        };
+        final Converter cached = new Converter(Map.of(Point.class, points), 64);
+        final int threads = 8;
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Boolean>> converted = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                converted.add(pool.submit(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        if (!cached.convert(String.valueOf(j % 32), Point.class).equals(new Point(j % 32, 0))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> each : converted) {
+                assertThat(each.get(), is(true));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(conversions.get() <= 32 * threads, is(true));
+        final Converter small = new Converter(Map.of(Point.class, points), 4);
+        for (int j = 0; j < 1000; j++) {
+            assertThat(small.convert(String.valueOf(j % 10), Point.class), is(new Point(j % 10, 0)));
+        }
+    }
+
+    @Test
+    void convertsEveryTimeWithoutAPureConverterOrACache() {
+        final int[] conversions = {0};
+        final TypeConverter points = input -> {
+            conversions[0]++;
+            return new Point(1, 0);
+        };
+        new Converter(Map.of(Point.class, points)).convert("1", Point.class);
+        new Converter(Map.of(Point.class, points)).convert("1", Point.class);
+        final Converter uncached = new Converter(Map.of(Point.class, (PureConverter) points::convert), 0);
+        uncached.convert("1", Point.class);
+        uncached.convert("1", Point.class);
+        assertThat(conversions[0], is(4));
+    }
+
+    @Test
+    void convertsThroughTheFactoriesOfATypeItself() {
+        assertThat(unit.convert("123e4567-e89b-12d3-a456-426614174000", UUID.class), is(UUID.fromString("123e4567-e89b-12d3-a456-426614174000")));
+        assertThat(unit.convert("1.50", BigDecimal.class), is(new BigDecimal("1.50")));
+        assertThat(unit.convert("2024-02-29", LocalDate.class), is(LocalDate.of(2024, 2, 29)));
+        assertThat(unit.convert("PT15M", Duration.class), is(Duration.ofMinutes(15)));
+        assertThat(unit.convert("https://example.org/a?b=c", URI.class), is(URI.create("https://example.org/a?b=c")));
+        assertThat(unit.convert("null", LocalDate.class), is(nullValue()));
+    }
+
+    @Test
+    void prefersValueOfToTheConstructorAndRegisteredConvertersToBoth() {
+        assertThat(((Money) unit.convert("12", Money.class)).cents, is(1200L));
+        final Converter registered = new Converter(Map.of(Money.class, input -> new Money(input)));
+        assertThat(((Money) registered.convert("12", Money.class)).cents, is(12L));
+    }
+
+    @Test
+    void namesTheTypeWhenItsFactoryFails() {
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> unit.convert("tomorrow", LocalDate.class));
+        assertThat(thrown.getMessage(), is("Cannot convert value \"tomorrow\" to LocalDate: Text 'tomorrow' could not be parsed at index 0"));
+        assertThrows(IllegalArgumentException.class, () -> unit.convert("a b", URI.class));
+    }
+
+    @Test
+    void skipsFactoriesItCannotReachAndTriesTheNextOne() {
+        assertThat(((Hidden) unit.convert("a", Hidden.class)).value, is("constructed a"));
+    }
+
+    static class HiddenFactory {
+        public static Hidden valueOf(String value) {
+            return new Hidden("factory " + value);
+        }
+    }
+
+    public static class Hidden extends HiddenFactory {
+        public final String value;
+
+        public Hidden(String value) {
+            this.value = value.startsWith("factory ") ? value : "constructed " + value;
+        }
+    }
+
+    public static class Money {
+        public final long cents;
+
+        public Money(String cents) {
+            this.cents = Long.parseLong(cents);
+        }
+
+        public static Money valueOf(String units) {
+            return new Money(String.valueOf(Long.parseLong(units) * 100));
+        }
+    }
+
+    enum Colour {RED, BLUE}
+
+    record Point(int x, int y) {
+    }
+
+    public static class Sample {
+        public void call(List<Integer> values) {
+        }
+    }
+
 
 }
@@ -0,0 +1,97 @@
+package org.github;
+
+import org.github.converter.TypeConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FanOutTest {
+
+    private static final String NEW_LINE = System.lineSeparator();
+
+    private final Map<Class<?>, TypeConverter> converters = new HashMap<>();
+    private final PrintStream originalOut = System.out;
+    private final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream reported = new ByteArrayOutputStream();
+    private final FanOut unit = new FanOut(new InternalFire(converters), 4, new PrintStream(reported, true));
+
+    @BeforeEach
+    void captureOut() {
+        System.setOut(new PrintStream(printed, true));
+    }
+
+    @AfterEach
+    void restoreOut() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void callsOncePerValueKeepingTheOutputInOrder() throws Exception {
+        final Slow slow = new Slow();
+        final FanOut.Report report = unit.run(slow, "millis", "sleep", "--millis=60,0,30,10", "--label=x");
+        assertThat(printed.toString(), is("x60" + NEW_LINE + "x0" + NEW_LINE + "x30" + NEW_LINE + "x10" + NEW_LINE));
+        assertThat(report.succeeded(), is(4));
+        assertThat(slow.calls.get(), is(4));
+    }
+
+    @Test
+    void collectsFailures() throws Exception {
+        final Slow slow = new Slow();
+        final FanOut.Report report = unit.run(slow, "millis", "sleep", "--millis=1,one,-1", "--label=x");
+        assertThat(report.succeeded(), is(1));
+        assertThat(report.failures().size(), is(2));
+        assertThat(report.failures().get(1), is("millis=-1: timeout value is negative"));
+        assertThat(printed.toString(), is("x1" + NEW_LINE));
+    }
+
+    @Test
+    void cannotFanOutOverMissingParameter() {
+        assertThrows(IllegalArgumentException.class, () -> unit.run(new Slow(), "other", "sleep", "--millis=1", "--label=x"));
+    }
+
+    @Test
+    void expandsGlobs() throws Exception {
+        final Path directory = Files.createTempDirectory("jfire");
+        try {
+            Files.createFile(directory.resolve("b.csv"));
+            Files.createFile(directory.resolve("a.csv"));
+            Files.createFile(directory.resolve("c.txt"));
+            assertThat(FanOut.values(directory + "/*.csv"), is(List.of(directory + "/a.csv", directory + "/b.csv")));
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void splitsLists() {
+        assertThat(FanOut.values("a, b,,c"), is(List.of("a", "b", "c")));
+    }
+
+    public static class Slow {
+        final AtomicInteger calls = new AtomicInteger();
+
+        public String sleep(long millis, String label) throws InterruptedException {
+            calls.incrementAndGet();
+            Thread.sleep(millis);
+            return label + millis;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.github;
+
+import org.github.output.OutputFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FireEngineTest {
+
+    private final FireEngine unit = FireEngine.builder(new Calculator()).build();
+
+    @Test
+    void returnsWhatTheMethodReturned() {
+        final FireResult reply = unit.fire("add", "--a=1", "--b=2");
+        assertThat(reply.succeeded(), is(true));
+        assertThat(reply.value(), is(3L));
+    }
+
+    @Test
+    void returnsNullForMethodsWithoutAResult() {
+        assertThat(unit.fire("nothing").value(), is((Object) null));
+    }
+
+    @Test
+    void returnsFailuresInsteadOfExiting() {
+        final FireResult missing = unit.fire("subtract", "--a=1");
+        assertThat(missing.succeeded(), is(false));
+        assertThat(missing.error().getMessage().startsWith("Method \"subtract\" is not found."), is(true));
+
+        final FireResult thrown = unit.fire("divide", "--a=1", "--b=0");
+        assertThat(thrown.error() instanceof ArithmeticException, is(true));
+        assertThrows(ArithmeticException.class, thrown::orElseThrow);
+    }
+
+    @Test
+    void writesResultsToTheOutputInTheFormat() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final FireEngine engine = FireEngine.builder(new Calculator()).format(OutputFormat.JSONL).output(output).build();
+        assertThat(engine.fire("add", "--a=1", "--b=2").value(), is(3L));
+        engine.fire("add", "40", "2");
+        assertThat(output.toString(), is("3\n42\n"));
+    }
+
+    @Test
+    void usesTheConvertersGivenToTheBuilder() {
+        final FireEngine.Builder builder = FireEngine.builder(new Calculator()).converter(Long.TYPE, input -> Long.parseLong(input) * 10);
+        final FireEngine engine = builder.build();
+        builder.converter(Long.TYPE, input -> 0L);
+        assertThat(engine.fire("add", "--a=1", "--b=2").value(), is(30L));
+    }
+
+    @Test
+    void canBeSharedByManyThreads() throws Exception {
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<FireResult>> results = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                final String a = String.valueOf(i);
+                results.add(pool.submit(() -> unit.fire("add", "--a=" + a, "--b=1")));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get().value(), is(i + 1L));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void needsATarget() {
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> FireEngine.builder(null));
+        assertThat(thrown.getMessage(), is("Please pass the object to call commands on"));
+    }
+
+    @Test
+    void handsBackStreamsThatStillReadTheirInputs() throws Exception {
+        final Path file = Files.createTempFile("jfire", ".txt");
+        Files.writeString(file, "a\nb\nbc\n");
+        final FireResult reply = unit.fire("grep", "--lines=@" + file, "--word=b");
+        assertThat(reply.succeeded(), is(true));
+        try (Stream<?> matches = (Stream<?>) reply.value()) {
+            assertThat(matches.collect(Collectors.toList()), is(List.of("b", "bc")));
+        }
+    }
+
+    public static class Calculator {
+        public long add(long a, long b) {
+            return a + b;
+        }
+
+        public void nothing() {
+        }
+
+        public int divide(int a, int b) {
+            return a / b;
+        }
+
+        public Stream<String> grep(Stream<String> lines, String word) {
+            return lines.filter(line -> line.contains(word));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.github;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FireFlagsTest {
+
+    @Test
+    void splitsTheCommandFromTheFlags() {
+        final FireFlags unit = FireFlags.split("hello", "--who=you", "--", "--batch=file", "--timings");
+        assertThat(unit.command(), is(new String[]{"hello", "--who=you"}));
+        assertThat(unit.get("batch", null), is("file"));
+        assertThat(unit.has("timings"), is(true));
+        assertThat(unit.get("timings", "default"), is("default"));
+    }
+
+    @Test
+    void readsDurations() {
+        assertThat(FireFlags.split("--", "--timeout=500ms").duration("timeout"), is(Duration.ofMillis(500)));
+        assertThat(FireFlags.split("--", "--timeout=30s").duration("timeout"), is(Duration.ofSeconds(30)));
+        assertThat(FireFlags.split("--", "--timeout=30").duration("timeout"), is(Duration.ofSeconds(30)));
+        assertThat(FireFlags.split("--", "--timeout=2m").duration("timeout"), is(Duration.ofMinutes(2)));
+        assertThat(FireFlags.split("--", "--timeout=1h").duration("timeout"), is(Duration.ofHours(1)));
+        assertThat(FireFlags.split("--", "--timeout=PT1M30S").duration("timeout"), is(Duration.ofSeconds(90)));
+        assertThat(FireFlags.split("hello").duration("timeout"), is((Duration) null));
+    }
+
+    @Test
+    void rejectsOtherDurations() {
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> FireFlags.split("--", "--timeout=5 minutes").duration("timeout"));
+        assertThat(thrown.getMessage(), is("--timeout must be a duration such as 500ms, 30s or 2m, but got \"5 minutes\""));
+    }
+}
@@ -0,0 +1,117 @@
+package org.github;
+
+import org.github.FireListener.Phase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FireListenerTest {
+
+    private final PrintStream originalOut = System.out;
+    private final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+    private final List<String> phases = new ArrayList<>();
+    private final FireListener recording = (phase, methodName, elapsedNanos) -> {
+        assertThat(elapsedNanos >= 0, is(true));
+        phases.add(methodName + ":" + phase);
+    };
+
+    @BeforeEach
+    void captureOut() {
+        System.setOut(new PrintStream(printed, true));
+    }
+
+    @AfterEach
+    void restoreOut() {
+        System.setOut(originalOut);
+    }
+
+    private InternalFire fire(FireListener listener) {
+        return new InternalFire(new InternalFire.Settings().listener(listener));
+    }
+
+    @Test
+    void reportsEveryPhaseInOrder() {
+        fire(recording).fire(new Target(), "add", "--a=1", "--b=2");
+        assertThat(phases, is(List.of("add:PARSE", "add:RESOLVE", "add:CONVERT", "add:INVOKE", "add:OUTPUT")));
+        assertThat(printed.toString(), is("3" + System.lineSeparator()));
+    }
+
+    @Test
+    void thereIsNoOutputPhaseWithoutAResult() {
+        fire(recording).fire(new Target(), "nothing");
+        assertThat(phases, is(List.of("nothing:PARSE", "nothing:RESOLVE", "nothing:CONVERT", "nothing:INVOKE")));
+    }
+
+    @Test
+    void stopsReportingWhenAPhaseFails() {
+        assertThrows(IllegalArgumentException.class, () -> fire(recording).fire(new Target(), "add", "--a=x", "--b=2"));
+        assertThat(phases, is(List.of("add:PARSE", "add:RESOLVE")));
+    }
+
+    @Test
+    void listenersCanBeChained() {
+        final PhaseTimings timings = new PhaseTimings();
+        fire(recording.andThen(timings)).fire(new Target(), "add", "--a=1", "--b=2");
+        assertThat(phases.size(), is(5));
+        assertThat(timings.count(Phase.INVOKE), is(1L));
+    }
+
+    @Test
+    void timingsAddUpEachPhase() {
+        final PhaseTimings timings = new PhaseTimings();
+        final InternalFire unit = fire(timings);
+        unit.fire(new Target(), "add", "--a=1", "--b=2");
+        unit.fire(new Target(), "nothing");
+        assertThat(timings.count(Phase.PARSE), is(2L));
+        assertThat(timings.count(Phase.OUTPUT), is(1L));
+        final ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        timings.print(new PrintStream(summary, true));
+        final String[] lines = summary.toString().split(System.lineSeparator());
+        assertThat(lines.length, is(7));
+        assertThat(lines[1].startsWith("parse"), is(true));
+        assertThat(lines[6].startsWith("total"), is(true));
+    }
+
+    @Test
+    void recordsFlightRecorderEvents() throws Exception {
+        final Path file = Files.createTempFile("jfire", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.github.jfire.Phase");
+            recording.start();
+            fire(FireListener.flightRecorder()).fire(new Target(), "add", "--a=1", "--b=2");
+            recording.stop();
+            recording.dump(file);
+            final List<String> recorded = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                recorded.add(event.getString("methodName") + ":" + event.getString("phase"));
+            }
+            assertThat(recorded, is(List.of("add:PARSE", "add:RESOLVE", "add:CONVERT", "add:INVOKE", "add:OUTPUT")));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public static class Target {
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        public void nothing() {
+        }
+    }
+}
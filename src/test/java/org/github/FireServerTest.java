@@ -0,0 +1,77 @@
+package org.github;
+
+import org.github.converter.TypeConverter;
+import org.github.daemon.FireClient;
+import org.github.daemon.FireServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class FireServerTest {
+
+    private final Map<Class<?>, TypeConverter> converters = new HashMap<>();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private Path socket;
+    private FireServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        socket = Files.createTempDirectory("jfire").resolve("jfire.sock");
+        server = new FireServer(new InternalFire(converters), new Greeter(), socket);
+        final Thread thread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @AfterEach
+    void stopServer() throws Exception {
+        server.close();
+        Files.deleteIfExists(socket.getParent());
+    }
+
+    @Test
+    void streamsBackWhatTheCommandPrints() throws Exception {
+        final int code = FireClient.call(socket, out, err, "greet", "--who=you");
+        assertThat(code, is(0));
+        assertThat(out.toString(), is("Hello you" + System.lineSeparator() + "done" + System.lineSeparator()));
+        assertThat(err.toString(), is(""));
+    }
+
+    @Test
+    void reportsFailuresOnStandardError() throws Exception {
+        final int code = FireClient.call(socket, out, err, "wave");
+        assertThat(code, is(-1));
+        assertThat(err.toString().startsWith("Method \"wave\" is not found."), is(true));
+    }
+
+    @Test
+    void servesSeveralClients() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(FireClient.call(socket, out, err, "greet", "--who=" + i), is(0));
+        }
+        assertThat(out.toString().split(System.lineSeparator()).length, is(6));
+    }
+
+    public static class Greeter {
+        public String greet(String who) {
+            System.out.println("Hello " + who);
+            return "done";
+        }
+    }
+}
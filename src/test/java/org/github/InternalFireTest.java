@@ -1,12 +1,23 @@
 package org.github;
 
 import org.github.converter.TypeConverter;
+import org.github.memo.MemoStore;
+import org.github.output.OutputFormat;
 import org.junit.jupiter.api.Test;
 
-import java.io.OutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -101,6 +112,214 @@ public class InternalFireTest {
         assertThat(runMe.ran, is(true));
     }
 
+    @Test
+    void canFireSeveralCommandsWithOneInstance() throws Exception {
+        final RunMeAgain runMe = new RunMeAgain();
+        final InternalFire unit = new InternalFire(converters);
+        unit.fire(runMe, "methodToCall", "--really=maybe", "--shouldI=yes");
+        assertThat(runMe.ran, is(false));
+        unit.fire(runMe, "methodToCall", "--couldI=perhaps", "--really=maybe", "--shouldI=yes");
+        assertThat(runMe.ran, is(true));
+    }
+
+    @Test
+    void cannotFindMethodWithDifferentParameterNames() {
+        final RunMe runMe = new RunMe();
+        IllegalArgumentException result = assertThrows(IllegalArgumentException.class, () -> new InternalFire(converters).fire(runMe, "two", "--shouldI=yes"));
+        assertThat(result.getMessage(), is(
+                "Method \"two\" is not found. " +
+                        "\nPublic methods are: \"two\""));
+    }
+
+    @Test
+    void givesPositionalValuesToTheParametersNotNamed() throws Exception {
+        final RunMe toRun = new RunMe();
+        new InternalFire(converters).fire(toRun, "two", "--really=maybe", "yes");
+        assertThat(toRun.ran, is(true));
+    }
+
+    @Test
+    void picksTheOverloadByTheNumberOfPositionalValues() throws Exception {
+        final RunMeAgain toRun = new RunMeAgain();
+        new InternalFire(converters).fire(toRun, "methodToCall", "yes", "maybe", "perhaps");
+        assertThat(toRun.ran, is(true));
+    }
+
+    @Test
+    void repeatedParametersFillCollections() throws Exception {
+        final Generics toRun = new Generics();
+        new InternalFire(converters).fire(toRun, "call", "--ids=1", "--ids=2", "--ids=3", "--limits=a=1", "--limits=b=2", "--tag=x");
+        assertThat(toRun.ran, is("[1, 2, 3] {a=1, b=2} Optional[x]"));
+    }
+
+    @Test
+    void rejectsUnknownDispatchedCommandsBeforeAnyRuns() {
+        final Dispatched dispatched = new Dispatched();
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new InternalFire(converters).fire(dispatched, "run", "--times=2", "--who=x", "+", "runn", "--times=1", "--who=y"));
+        assertThat(exception.getMessage().startsWith("Method \"runn\" is not found."), is(true));
+        assertThrows(IllegalArgumentException.class,
+                () -> new InternalFire(converters).fire(dispatched, "run", "--times=2", "--who=x", "+", "run", "--tmes=1", "--who=y"));
+        assertThat(dispatched.ran, is(""));
+    }
+
+    @Test
+    void repeatedParametersConvertEachValueOnItsOwn() throws Exception {
+        final Generics toRun = new Generics();
+        new InternalFire(converters).fire(toRun, "join", "--parts=a,b", "--parts=c");
+        assertThat(toRun.ran, is("a,b|c"));
+        final Dispatched dispatched = new Dispatched();
+        new InternalFire(converters).fire(dispatched, "sum", "--values=1", "--values=2");
+        assertThat(dispatched.ran, is("3"));
+        assertThrows(IllegalArgumentException.class, () -> new InternalFire(converters).fire(dispatched, "sum", "--values=1", "--values=2,3"));
+    }
+
+    @Test
+    void repeatedParametersCannotFillSingleValues() {
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new InternalFire(converters).fire(new RunMe(), "two", "--shouldI=yes", "--really=no", "--really=yes"));
+        assertThat(exception.getMessage(), is("Parameter \"really\" takes a single value, but was given more than once"));
+    }
+
+    @Test
+    void flagsWithoutValuesAreTrue() throws Exception {
+        final BoolThing toRun = new BoolThing();
+        new InternalFire(converters).fire(toRun, "callWithBoolean", "--aValue");
+        assertThat(toRun.ran, is(true));
+    }
+
+    @Test
+    void followsPublicFieldsAndMethodsToSubCommands() throws Exception {
+        final Root root = new Root();
+        final InternalFire unit = new InternalFire(converters);
+        unit.fire(root, "users", "add", "--name=ann");
+        unit.fire(root, "admin", "users", "add", "bob");
+        assertThat(root.users.added, is(List.of("ann", "bob")));
+    }
+
+    @Test
+    void createsSuppliedSubCommandsOnlyWhenReached() throws Exception {
+        final Root root = new Root();
+        final InternalFire unit = new InternalFire(converters);
+        unit.fire(root, "users", "add", "--name=ann");
+        assertThat(root.created, is(0));
+        unit.fire(root, "reports", "run");
+        unit.fire(root, "reports", "run");
+        assertThat(root.created, is(2));
+    }
+
+    @Test
+    void cannotFollowNullSubCommands() {
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new InternalFire(converters).fire(new Root(), "missing", "run"));
+        assertThat(exception.getMessage(), is("\"missing\" is null, so \"run\" cannot be called on it"));
+    }
+
+    @Test
+    void onlyFollowsMethodsThatLeadToSubCommands() {
+        final Root root = new Root();
+        assertThrows(IllegalArgumentException.class, () -> new InternalFire(converters).fire(root, "deleteAll", "now"));
+        assertThat(root.deleted, is(0));
+    }
+
+    @Test
+    void reportsTheMethodsOfTheSubCommandThatWasReached() {
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new InternalFire(converters).fire(new Root(), "users", "remove", "--name=ann"));
+        assertThat(exception.getMessage(), is("Method \"remove\" is not found. \nPublic methods are: \"add\""));
+    }
+
+    @Test
+    void canFireWithReflectiveInvoker() throws Exception {
+        final RunMe runMe = new RunMe();
+        final InternalFire unit = new InternalFire(new InternalFire.Settings().converters(converters).invokers(InvokerFactory.REFLECTIVE));
+        unit.fire(runMe, "two", "--shouldI=yes", "--really=maybe");
+        assertThat(runMe.ran, is(true));
+    }
+
+    @Test
+    void canFireMethodWithPrimitiveParameters() throws Exception {
+        for (InvokerFactory invokers : new InvokerFactory[]{InvokerFactory.METHOD_HANDLE, InvokerFactory.REFLECTIVE}) {
+            final Primitives primitives = new Primitives();
+            new InternalFire(new InternalFire.Settings().converters(converters).invokers(invokers)).fire(primitives, "all", "--i=1", "--l=2", "--d=0.5", "--b=true", "--s=x");
+            assertThat(primitives.ran, is("1 2 0.5 true x"));
+        }
+    }
+
+    @Test
+    void canFireStaticMethodWithPrimitiveParameters() throws Exception {
+        final RunMeStatic toRun = new RunMeStatic();
+        new InternalFire(converters).fire(toRun, "sum", "--a=1", "--b=2");
+        assertThat(RunMeStatic.sum, is(3L));
+    }
+
+    @Test
+    void canFireMethodWithGenericParameters() throws Exception {
+        final Generics generics = new Generics();
+        new InternalFire(converters).fire(generics, "call", "--ids=1,2,3", "--limits=a=1,b=2", "--tag=null");
+        assertThat(generics.ran, is("[1, 2, 3] {a=1, b=2} Optional.empty"));
+    }
+
+    @Test
+    void closesInputsOnceTheCommandHasRun() throws Exception {
+        final Path file = Files.createTempFile("jfire", ".txt");
+        try {
+            Files.write(file, List.of("a", "b"));
+            final Inputs inputs = new Inputs();
+            new InternalFire(converters).fire(inputs, "count", "--lines=@" + file, "--in=@" + file);
+            assertThat(inputs.count, is(2L));
+            assertThrows(IOException.class, () -> inputs.in.read());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void dispatchedCallsCloseInputsOnceTheCommandHasRun() throws Exception {
+        final Path file = Files.createTempFile("jfire", ".txt");
+        try {
+            Files.write(file, List.of("a", "b"));
+            final Dispatched dispatched = new Dispatched();
+            new InternalFire(converters).fire(dispatched, "count", "--lines=@" + file, "--in=@" + file);
+            assertThat(dispatched.ran, is("2"));
+            assertThrows(IOException.class, () -> dispatched.in.read());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void generatedDispatcherKeepsGenericParameterTypes() throws Exception {
+        final Dispatched dispatched = new Dispatched();
+        new InternalFire(converters).fire(dispatched, "sum", "--values=1,2,3");
+        assertThat(dispatched.ran, is("6"));
+    }
+
+    @Test
+    void exceptionsFromTheCalledMethodArePassedThrough() {
+        final RunMeWithReturn runMe = new RunMeWithReturn();
+        assertThrows(IllegalStateException.class, () -> new InternalFire(converters).fire(runMe, "methodToCall", "--shouldI=no"));
+        assertThrows(IllegalStateException.class, () -> new InternalFire(new InternalFire.Settings().converters(converters).invokers(InvokerFactory.REFLECTIVE)).fire(runMe, "methodToCall", "--shouldI=no"));
+    }
+
+    @Test
+    void usesGeneratedDispatcherForFireCommandClasses() throws Exception {
+        final Dispatched dispatched = new Dispatched();
+        final InternalFire unit = new InternalFire(converters);
+        unit.fire(dispatched, "run", "--times=2", "--who=you");
+        assertThat(dispatched.ran, is("you2"));
+        assertThat(Dispatchers.find(Dispatched.class).getClass().getSimpleName(), is("InternalFireTest$Dispatched_FireDispatcher"));
+    }
+
+    @Test
+    void generatedDispatcherReportsUnknownMethods() {
+        final Dispatched dispatched = new Dispatched();
+        IllegalArgumentException result = assertThrows(IllegalArgumentException.class, () -> new InternalFire(converters).fire(dispatched, "run", "--times=2"));
+        assertThat(result.getMessage(), is(
+                "Method \"run\" is not found. " +
+                        "\nPublic methods are: \"run, sum, count\""));
+    }
+
     @Test
     void whenMethodHasAReturnTypeSysoutWithToString() throws Exception {
         final String[] lastPrintedLine = {""};
@@ -164,6 +383,215 @@ public class InternalFireTest {
     }
 
 
+    @Test
+    void convertsSupplierParametersOnlyWhenTheyAreUsed() {
+        final Lazy lazy = new Lazy();
+        new InternalFire(converters).fire(lazy, "call", "--verbose=false", "--limit=not a number");
+        assertThat(lazy.ran, is("quiet"));
+        assertThrows(NumberFormatException.class, () -> new InternalFire(converters).fire(lazy, "call", "--verbose=true", "--limit=not a number"));
+        new InternalFire(converters).fire(lazy, "call", "--verbose=true", "--limit=5");
+        assertThat(lazy.ran, is("5"));
+    }
+
+    @Test
+    void remembersTheResultsOfMemoizedMethods() throws Exception {
+        final InternalFire unit = memoizing(Files.createTempDirectory("jfire").resolve("memo.cache"));
+        final Memoized memoized = new Memoized();
+        assertThat(printed(() -> unit.fire(memoized, "report", "--name=a", "--limits=1,2")), is("a [1, 2]" + System.lineSeparator()));
+        assertThat(printed(() -> unit.fire(memoized, "report", "--name=a", "--limits=1,2")), is("a [1, 2]" + System.lineSeparator()));
+        assertThat(memoized.calls, is(1));
+        assertThat(printed(() -> unit.fire(memoized, "report", "--name=a", "--limits=1,3")), is("a [1, 3]" + System.lineSeparator()));
+        assertThat(memoized.calls, is(2));
+    }
+
+    @Test
+    void remembersResultsAcrossRuns() throws Exception {
+        final Path file = Files.createTempDirectory("jfire").resolve("memo.cache");
+        final Memoized memoized = new Memoized();
+        printed(() -> memoizing(file).fire(memoized, "report", "--name=b", "--limits=4"));
+        assertThat(printed(() -> memoizing(file).fire(memoized, "report", "--name=b", "--limits=4")), is("b [4]" + System.lineSeparator()));
+        assertThat(memoized.calls, is(1));
+    }
+
+    @Test
+    void cannotMemoizeMethodsWithoutAResult() throws Exception {
+        final InternalFire unit = memoizing(Files.createTempDirectory("jfire").resolve("memo.cache"));
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> unit.fire(new Memoized(), "nothing"));
+        assertThat(thrown.getMessage(), is("@Memoize method \"nothing\" returns nothing, so there is no result to remember"));
+    }
+
+    @Test
+    void cannotMemoizeMethodsReadingStreams() throws Exception {
+        final InternalFire unit = memoizing(Files.createTempDirectory("jfire").resolve("memo.cache"));
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> unit.fire(new Memoized(), "count", "--input=-"));
+        assertThat(thrown.getMessage(), is("Parameter \"input\" of @Memoize method \"count\" is read as it is used, so its value cannot be remembered"));
+    }
+
+    @Test
+    void remembersResultsPrintedInEachFormatApart() throws Exception {
+        final Path file = Files.createTempDirectory("jfire").resolve("memo.cache");
+        final Memoized memoized = new Memoized();
+        printed(() -> memoizing(file).fire(memoized, "report", "--name=c", "--limits=5"));
+        assertThat(printed(() -> memoizing(file, OutputFormat.JSONL).fire(memoized, "report", "--name=c", "--limits=5")),
+                is("\"c [5]\"\n"));
+        assertThat(memoized.calls, is(2));
+    }
+
+    @Test
+    void cannotMemoizeParametersWithoutAValueToRememberThemBy() throws Exception {
+        final InternalFire unit = memoizing(Files.createTempDirectory("jfire").resolve("memo.cache"));
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> unit.fire(new Memoized(), "tagged", "--tag=a"));
+        assertThat(thrown.getMessage(), is("Parameter \"tag\" of @Memoize method \"tagged\" has no value to remember it by, "
+                + "it should be a record, an enum or a JDK value type"));
+    }
+
+    private InternalFire memoizing(Path file) {
+        return memoizing(file, OutputFormat.TEXT);
+    }
+
+    private InternalFire memoizing(Path file, OutputFormat format) {
+        return new InternalFire(new InternalFire.Settings().converters(converters).format(format)
+                .memoStore(new MemoStore(file, MemoStore.DEFAULT_SIZE)));
+    }
+
+    private static String printed(Runnable call) {
+        final PrintStream original = System.out;
+        final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(printed, true));
+        try {
+            call.run();
+        } finally {
+            System.setOut(original);
+        }
+        return printed.toString();
+    }
+
+    @FireCommand
+    static class Dispatched {
+        String ran = "";
+        InputStream in;
+
+        public void run(int times, String who) {
+            ran = who + times;
+        }
+
+        public void sum(List<Integer> values) {
+            int total = 0;
+            for (Integer value : values) {
+                total += value;
+            }
+            ran = String.valueOf(total);
+        }
+
+        public void count(Stream<String> lines, InputStream in) {
+            ran = String.valueOf(lines.count());
+            this.in = in;
+        }
+    }
+
+    public static class Lazy {
+        String ran = "";
+
+        public void call(boolean verbose, Supplier<Integer> limit) {
+            ran = verbose ? String.valueOf(limit.get()) : "quiet";
+        }
+    }
+
+    public static class Memoized {
+        int calls;
+
+        @Memoize(ttl = "1h")
+        public String report(String name, List<Integer> limits) {
+            calls++;
+            return name + " " + limits;
+        }
+
+        @Memoize
+        public void nothing() {
+        }
+
+        @Memoize
+        public long count(InputStream input) {
+            return 0;
+        }
+
+        @Memoize
+        public String tagged(Tag tag) {
+            return tag.name;
+        }
+    }
+
+    public static class Tag {
+        final String name;
+
+        public Tag(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Root {
+        public final Users users = new Users();
+        public Users missing;
+        public final Supplier<Reports> reports = () -> new Reports(this);
+        int created;
+        int deleted;
+
+        public Root admin() {
+            return this;
+        }
+
+        public int deleteAll() {
+            return ++deleted;
+        }
+    }
+
+    public static class Users {
+        final List<String> added = new ArrayList<>();
+
+        public void add(String name) {
+            added.add(name);
+        }
+    }
+
+    public static class Reports {
+        Reports(Root root) {
+            root.created++;
+        }
+
+        public void run() {
+        }
+    }
+
+    class Primitives {
+        String ran = "";
+
+        public void all(int i, long l, double d, boolean b, String s) {
+            ran = i + " " + l + " " + d + " " + b + " " + s;
+        }
+    }
+
+    class Generics {
+        String ran = "";
+
+        public void call(List<Integer> ids, Map<String, Long> limits, Optional<String> tag) {
+            ran = ids + " " + limits + " " + tag;
+        }
+
+        public void join(List<String> parts) {
+            ran = String.join("|", parts);
+        }
+    }
+
+    class Inputs {
+        long count;
+        InputStream in;
+
+        public void count(Stream<String> lines, InputStream in) {
+            count = lines.count();
+            this.in = in;
+        }
+    }
+
     class CalledWithAnotherClass {
         public void myMethod(ToRun otherClass) {
         }
@@ -203,6 +631,11 @@ public class InternalFireTest {
     }
     static class RunMeStatic {
         static boolean ran = false;
+        static long sum = 0;
+
+        public static void sum(int a, long b) {
+            sum = a + b;
+        }
 
         public static void run(String shouldI) {
             if ("yes".equals(shouldI)) {
@@ -227,7 +660,7 @@ public class InternalFireTest {
             if ("yes".equals(shouldI)) {
                 return new ReturnedValue();
             }
-            throw new RuntimeException();
+            throw new IllegalStateException();
         }
     }
 
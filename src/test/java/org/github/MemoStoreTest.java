@@ -0,0 +1,105 @@
+package org.github;
+
+import org.github.memo.MemoStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MemoStoreTest {
+
+    private final Path file = Files.createTempDirectory("jfire").resolve("memo.cache");
+
+    public MemoStoreTest() throws IOException {
+    }
+
+    @Test
+    void remembersValuesByKey() throws IOException {
+        try (MemoStore unit = new MemoStore(file, MemoStore.DEFAULT_SIZE)) {
+            assertThat(unit.get(bytes("a")), is((byte[]) null));
+            assertThat(unit.put(bytes("a"), bytes("first"), null), is(true));
+            assertThat(unit.put(bytes("b"), bytes("second"), null), is(true));
+            assertThat(unit.put(bytes("a"), bytes("replaced"), null), is(true));
+            assertThat(unit.get(bytes("a")), is(bytes("replaced")));
+            assertThat(unit.get(bytes("b")), is(bytes("second")));
+        }
+    }
+
+    @Test
+    void sharesValuesWithOtherStoresOnTheSameFile() throws IOException {
+        try (MemoStore first = new MemoStore(file, MemoStore.DEFAULT_SIZE);
+             MemoStore second = new MemoStore(file, MemoStore.DEFAULT_SIZE)) {
+            first.put(bytes("a"), bytes("1"), null);
+            assertThat(second.get(bytes("a")), is(bytes("1")));
+            second.put(bytes("b"), bytes("2"), null);
+            assertThat(first.get(bytes("b")), is(bytes("2")));
+        }
+        try (MemoStore reopened = new MemoStore(file, MemoStore.DEFAULT_SIZE)) {
+            assertThat(reopened.get(bytes("a")), is(bytes("1")));
+        }
+    }
+
+    @Test
+    void forgetsValuesOnceTheyExpire() throws Exception {
+        try (MemoStore unit = new MemoStore(file, MemoStore.DEFAULT_SIZE)) {
+            unit.put(bytes("a"), bytes("1"), Duration.ofMillis(1));
+            unit.put(bytes("b"), bytes("2"), Duration.ofHours(1));
+            Thread.sleep(10);
+            assertThat(unit.get(bytes("a")), is((byte[]) null));
+            assertThat(unit.get(bytes("b")), is(bytes("2")));
+        }
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedValuesWhenFull() throws Exception {
+        final byte[] value = new byte[100];
+        try (MemoStore unit = new MemoStore(file, 32 + 10 * (52 + 100))) {
+            for (int i = 0; i < 10; i++) {
+                unit.put(bytes("key" + i), value, null);
+                Thread.sleep(2);
+            }
+            unit.get(bytes("key0"));
+            unit.put(bytes("key10"), value, null);
+            assertThat(unit.get(bytes("key0")), is(value));
+            assertThat(unit.get(bytes("key1")), is((byte[]) null));
+            assertThat(unit.get(bytes("key5")), is((byte[]) null));
+            assertThat(unit.get(bytes("key6")), is(value));
+            assertThat(unit.get(bytes("key10")), is(value));
+        }
+    }
+
+    @Test
+    void doesNotRememberValuesBiggerThanHalfTheStore() throws IOException {
+        try (MemoStore unit = new MemoStore(file, 1024)) {
+            assertThat(unit.put(bytes("a"), new byte[600], null), is(false));
+            assertThat(unit.get(bytes("a")), is((byte[]) null));
+        }
+    }
+
+    @Test
+    void startsOverWhenTheFileIsNotAStore() throws IOException {
+        Files.write(file, bytes("not a memo store at all, but something else entirely"));
+        try (MemoStore unit = new MemoStore(file, MemoStore.DEFAULT_SIZE)) {
+            assertThat(unit.get(bytes("a")), is((byte[]) null));
+            unit.put(bytes("a"), bytes("1"), null);
+            assertThat(unit.get(bytes("a")), is(bytes("1")));
+        }
+    }
+
+    @Test
+    void checksTheSize() {
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> new MemoStore(file, 10));
+        assertThat(thrown.getMessage(), is("The size of a memo store must be between 136 and 2147483647 bytes, but was 10"));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
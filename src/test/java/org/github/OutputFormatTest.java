@@ -0,0 +1,154 @@
+package org.github;
+
+import org.github.output.OutputFormat;
+import org.github.output.RecordEncoder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OutputFormatTest {
+
+    public record Point(int x, int y, String label) {
+    }
+
+    public static class Person {
+        public String name = "Ann";
+        private final List<String> tags = List.of("a", "b");
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public boolean isActive() {
+            return true;
+        }
+    }
+
+    public record Labelled(String label, int x) {
+    }
+
+    public record Nested(Nested next, int depth) {
+    }
+
+    private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+    @Test
+    void readsTheFormatFlag() {
+        assertThat(OutputFormat.named(null), is(OutputFormat.TEXT));
+        assertThat(OutputFormat.named("jsonl"), is(OutputFormat.JSONL));
+        assertThat(OutputFormat.named("CSV"), is(OutputFormat.CSV));
+        final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> OutputFormat.named("xml"));
+        assertThat(thrown.getMessage(), is("Unknown output format \"xml\". Use text, jsonl, csv, tsv or binary"));
+    }
+
+    @Test
+    void writesOneJsonValuePerLine() throws IOException {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("n", 1);
+        map.put("list", List.of(1.5, true));
+        write(OutputFormat.JSONL, new Point(1, 2, "a \"b\"\n"), map, null, Double.NaN);
+        assertThat(text(), is("""
+                {"x":1,"y":2,"label":"a \\"b\\"\\n"}
+                {"n":1,"list":[1.5,true]}
+                null
+                null
+                """));
+    }
+
+    @Test
+    void writesPublicFieldsAndGettersOfOtherClasses() throws IOException {
+        write(OutputFormat.JSONL, new Person());
+        assertThat(text(), is("{\"name\":\"Ann\",\"tags\":[\"a\",\"b\"],\"active\":true}\n"));
+    }
+
+    @Test
+    void writesPrimitivesWithoutBoxing() throws IOException {
+        final RecordEncoder encoder = OutputFormat.JSONL.encoder(written);
+        encoder.record(-42L);
+        encoder.record(0.25);
+        encoder.flush();
+        assertThat(text(), is("-42\n0.25\n"));
+    }
+
+    @Test
+    void writesDeeplyNestedValuesAsText() throws IOException {
+        Nested deep = null;
+        for (int i = 0; i < 100; i++) {
+            deep = new Nested(deep, i);
+        }
+        write(OutputFormat.JSONL, deep);
+        assertThat(text().startsWith("{\"next\":{\"next\":"), is(true));
+        assertThat(text().contains("\"Nested[next=Nested[next="), is(true));
+        assertThat(text().endsWith("\"depth\":99}\n"), is(true));
+    }
+
+    @Test
+    void writesAHeaderFromTheFirstRecord() throws IOException {
+        write(OutputFormat.CSV, new Point(1, 2, "plain"), new Point(3, 4, "with, comma"), new Point(5, 6, "say \"hi\""));
+        assertThat(text(), is("""
+                x,y,label
+                1,2,plain
+                3,4,"with, comma"
+                5,6,"say ""hi\"\"\"
+                """));
+    }
+
+    @Test
+    void matchesOtherRecordsByColumnName() throws IOException {
+        write(OutputFormat.CSV, new Point(1, 2, "a"), new Labelled("b", 3));
+        assertThat(text(), is("x,y,label\n1,2,a\n3,,b\n"));
+    }
+
+    @Test
+    void writesValuesWithoutFieldsInOneColumn() throws IOException {
+        write(OutputFormat.CSV, "a", 1, List.of(1, 2));
+        assertThat(text(), is("value\na\n1\n\"[1,2]\"\n"));
+    }
+
+    @Test
+    void escapesTabSeparatedValues() throws IOException {
+        write(OutputFormat.TSV, new Point(1, 2, "a\tb\nc\\"));
+        assertThat(text(), is("x\ty\tlabel\n1\t2\ta\\tb\\nc\\\\\n"));
+    }
+
+    @Test
+    void writesTaggedBinaryValuesAndEachClassOnce() throws IOException {
+        write(OutputFormat.BINARY, new Labelled("\u00e9", -1), new Labelled("", 1), null);
+        final byte[] expected = {
+                9, 0, 2, 5, 5, 'l', 'a', 'b', 'e', 'l', 5, 1, 'x',
+                8, 0, 5, 2, (byte) 0xC3, (byte) 0xA9, 3, 1,
+                8, 0, 5, 0, 3, 2,
+                0
+        };
+        assertThat(written.toByteArray(), is(expected));
+    }
+
+    @Test
+    void writesBinaryDoublesBigEndian() throws IOException {
+        final RecordEncoder encoder = OutputFormat.BINARY.encoder(written);
+        encoder.record(1.0);
+        encoder.flush();
+        assertThat(written.toByteArray(), is(new byte[]{4, 0x3F, (byte) 0xF0, 0, 0, 0, 0, 0, 0}));
+    }
+
+    private void write(OutputFormat format, Object... values) throws IOException {
+        final RecordEncoder encoder = format.encoder(written);
+        for (Object value : values) {
+            encoder.record(value);
+        }
+        encoder.flush();
+    }
+
+    private String text() {
+        return written.toString(StandardCharsets.UTF_8);
+    }
+}
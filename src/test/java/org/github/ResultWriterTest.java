@@ -0,0 +1,172 @@
+package org.github;
+
+import org.github.output.OutputFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ResultWriterTest {
+
+    private static final String NEW_LINE = System.lineSeparator();
+
+    private final PrintStream originalOut = System.out;
+    private final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+    private final ResultWriter unit = new ResultWriter(FlushPolicy.firstThenWhenFull());
+
+    @BeforeEach
+    void captureOut() {
+        System.setOut(new PrintStream(printed, true));
+    }
+
+    @AfterEach
+    void restoreOut() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void writesPlainObjectsWithToString() {
+        unit.write(42);
+        assertThat(printed.toString(), is("42" + NEW_LINE));
+    }
+
+    @Test
+    void writesNull() {
+        unit.write(null);
+        assertThat(printed.toString(), is("null" + NEW_LINE));
+    }
+
+    @Test
+    void waitsForCompletionStages() {
+        unit.write(CompletableFuture.supplyAsync(() -> Stream.of("a", "b")));
+        assertThat(printed.toString(), is("a" + NEW_LINE + "b" + NEW_LINE));
+    }
+
+    @Test
+    void writesNothingForStagesWithoutAValue() {
+        unit.write(CompletableFuture.runAsync(() -> { }));
+        assertThat(printed.toString(), is(""));
+    }
+
+    @Test
+    void passesOnTheFailureOfAStage() {
+        final IllegalStateException failure = new IllegalStateException("boom");
+        final CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> {
+            throw failure;
+        });
+        final IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> unit.write(result));
+        assertThat(thrown, is(failure));
+    }
+
+    @Test
+    void givesUpOnStagesAfterTheTimeout() {
+        final CompletableFuture<String> never = new CompletableFuture<>();
+        final ResultWriter timed = new ResultWriter(FlushPolicy.firstThenWhenFull(), Duration.ofMillis(20));
+        final RuntimeException thrown = assertThrows(RuntimeException.class, () -> timed.write(never));
+        assertThat(thrown.getMessage(), is("No result after waiting 20 ms"));
+        assertThat(never.isCancelled(), is(true));
+    }
+
+    @Test
+    void writesStreamsOneElementPerLine() {
+        unit.write(Stream.of("a", "b", "c"));
+        assertThat(printed.toString(), is("a" + NEW_LINE + "b" + NEW_LINE + "c" + NEW_LINE));
+    }
+
+    @Test
+    void writesPrimitiveStreams() {
+        unit.write(IntStream.rangeClosed(1, 3));
+        assertThat(printed.toString(), is("1" + NEW_LINE + "2" + NEW_LINE + "3" + NEW_LINE));
+    }
+
+    @Test
+    void writesIterablesAndIterators() {
+        unit.write(List.of("a", "b"));
+        unit.write(List.of("c").iterator());
+        assertThat(printed.toString(), is("a" + NEW_LINE + "b" + NEW_LINE + "c" + NEW_LINE));
+    }
+
+    @Test
+    void writesPathsAsOneValue() {
+        unit.write(Path.of("/tmp/a/b"));
+        new ResultWriter(FlushPolicy.firstThenWhenFull(), null, OutputFormat.JSONL).write(Path.of("/tmp/a/b"));
+        assertThat(printed.toString(), is(Path.of("/tmp/a/b") + NEW_LINE + "\"" + Path.of("/tmp/a/b") + "\"\n"));
+    }
+
+    @Test
+    void writesArrays() {
+        unit.write(new int[]{1, 2});
+        unit.write(new String[]{"a", null});
+        assertThat(printed.toString(), is("1" + NEW_LINE + "2" + NEW_LINE + "a" + NEW_LINE + "null" + NEW_LINE));
+    }
+
+    @Test
+    void stopsConsumingWhenTheReaderGoesAway() {
+        System.setOut(new PrintStream(new ClosesAfter(100), true));
+        final AtomicLong produced = new AtomicLong();
+        unit.write(Stream.generate(() -> "row " + produced.incrementAndGet()));
+        assertThat(produced.get() < 10_000, is(true));
+    }
+
+    @Test
+    void closesStreamsOnceWritten() {
+        final boolean[] closed = {false};
+        unit.write(Stream.of("a").onClose(() -> closed[0] = true));
+        assertThat(closed[0], is(true));
+    }
+
+    static class ClosesAfter extends OutputStream {
+        private long remaining;
+
+        ClosesAfter(long bytes) {
+            remaining = bytes;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            remaining -= len;
+            if (remaining < 0) {
+                throw new IOException("Broken pipe");
+            }
+        }
+    }
+
+    @Test
+    void writesEveryElementAsARecordOfTheFormat() {
+        final ResultWriter csv = new ResultWriter(FlushPolicy.firstThenWhenFull(), null, OutputFormat.CSV);
+        csv.write(Stream.of(new Row("a", 1), new Row("b", 2)));
+        assertThat(printed.toString(), is("name,count\na,1\nb,2\n"));
+    }
+
+    @Test
+    void writesPrimitiveArraysInTheFormat() {
+        final ResultWriter jsonl = new ResultWriter(FlushPolicy.firstThenWhenFull(), null, OutputFormat.JSONL);
+        jsonl.write(new long[]{1, -2});
+        jsonl.write(new double[]{0.5});
+        jsonl.write("single");
+        assertThat(printed.toString(), is("1\n-2\n0.5\n\"single\"\n"));
+    }
+
+    public record Row(String name, int count) {
+    }
+}
@@ -0,0 +1,200 @@
+package org.github;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class ValidatorTest {
+
+    public enum Colour {
+        RED, GREEN
+    }
+
+    public static class Orders {
+        public void cancel(int id) {
+            throw new IllegalStateException("Orders should not be called while validating");
+        }
+    }
+
+    public static class Shop {
+        public int calls;
+        public Supplier<Orders> lazyOrders = () -> {
+            throw new IllegalStateException("Suppliers should not be asked while validating");
+        };
+
+        public Orders orders() {
+            calls++;
+            return new Orders();
+        }
+
+        public String list(int limit, String category) {
+            calls++;
+            return category + limit;
+        }
+
+        public void paint(String name, Colour colour) {
+            calls++;
+        }
+
+        public void read(InputStream input) {
+            calls++;
+        }
+
+        public void reorder(Orders orders) {
+            calls++;
+        }
+
+        public void label(String label) {
+            calls++;
+        }
+
+        public void tag(List<String> tags) {
+            calls++;
+        }
+
+        public void move(int from, String to) {
+            calls++;
+        }
+
+        public void move(String source, int target) {
+            calls++;
+        }
+    }
+
+    public static class Closed {
+    }
+
+    private final Shop shop = new Shop();
+    private final InternalFire fire = new InternalFire(new HashMap<>());
+
+    @Test
+    void checksCommandsWithoutCallingAnything() {
+        assertThat(fire.validate(shop, "list", "--limit=3", "--category=food"), is(List.of()));
+        assertThat(fire.validate(shop, "list", "3", "food"), is(List.of()));
+        assertThat(fire.validate(shop, "orders", "cancel", "--id=4"), is(List.of()));
+        assertThat(fire.validate(shop, "lazyOrders", "cancel", "--id=4"), is(List.of()));
+        assertThat(fire.validate(shop, "paint", "--name=door", "--colour=green", "+", "tag", "--tags=a", "--tags=b"), is(List.of()));
+        assertThat(shop.calls, is(0));
+    }
+
+    @Test
+    void suggestsTheClosestMethodNames() {
+        final List<Diagnostic> diagnostics = fire.validate(shop, "lsit", "--limit=3", "--category=food");
+        assertThat(diagnostics.size(), is(1));
+        assertThat(diagnostics.get(0).message().startsWith("Method \"lsit\" is not found. \nPublic methods are: \""), is(true));
+        assertThat(diagnostics.get(0).suggestions(), is(List.of("list")));
+        assertThat(fire.validate(shop, "orders", "cancle", "--id=4").get(0).suggestions(), is(List.of("cancel")));
+    }
+
+    @Test
+    void suggestsTheClosestParameterNames() {
+        final List<Diagnostic> diagnostics = fire.validate(shop, "list", "--limt=3", "--category=food");
+        assertThat(diagnostics, is(List.of(new Diagnostic(0, "Method \"list\" has no parameter \"--limt\"", List.of("--limit")))));
+    }
+
+    @Test
+    void namesTheParametersWhenSomeAreMissing() {
+        assertThat(fire.validate(shop, "list", "--limit=3").get(0).message(),
+                is("Method \"list\" cannot be called with 1 parameter, it takes \"--limit, --category\""));
+    }
+
+    @Test
+    void reportsEveryValueThatDoesNotConvert() {
+        final List<Diagnostic> diagnostics = fire.validate(shop, "paint", "--name=door", "--colour=blue", "+", "list", "--limit=many", "--category=a");
+        assertThat(diagnostics.size(), is(2));
+        assertThat(diagnostics.get(0).message(), is("Cannot convert value \"blue\" to Colour. Possible values are [RED, GREEN] for parameter: \"colour\". "
+                + "Please register converters for non basic objects"));
+        assertThat(diagnostics.get(1).message().endsWith("for parameter: \"limit\". Please register converters for non basic objects"), is(true));
+    }
+
+    @Test
+    void reportsTypesWithoutConverters() {
+        for (int i = 0; i < 2; i++) {
+            assertThat(fire.validate(shop, "reorder", "--orders=all").get(0).message(),
+                    is("Unable to convert org.github.ValidatorTest$Orders for parameter: \"orders\". Please register converters for non basic objects"));
+        }
+    }
+
+    @Test
+    void reportsTypesWithoutMethodsInsteadOfThrowing() {
+        assertThat(fire.validate(new Closed(), "open").get(0).message(), is("There are no public methods in the class: org.github.ValidatorTest.Closed"));
+    }
+
+    @Test
+    void reportsAmbiguousPositionalParameters() {
+        assertThat(fire.validate(shop, "move", "1", "2").get(0).message(),
+                is("Method \"move\" has more than one overload taking 2 positional parameters. Please name the parameters"));
+        assertThat(fire.validate(shop, "move", "--from=1", "2"), is(List.of()));
+    }
+
+    @Test
+    void reportsMissingParametersOfEveryCommand() {
+        final List<Diagnostic> diagnostics = fire.validate(shop, "list", "--limt=3", "+", "list", "--limit=3");
+        assertThat(diagnostics.size(), is(2));
+        assertThat(diagnostics.get(1).message(), is("Method \"list\" cannot be called with 1 parameter, it takes \"--limit, --category\""));
+    }
+
+    @Test
+    void reportsRepeatedSingleValues() {
+        assertThat(fire.validate(shop, "label", "--label=a", "--label=b").get(0).message(),
+                is("Parameter \"label\" takes a single value, but was given more than once"));
+    }
+
+    @Test
+    void checksFilesInsteadOfOpeningThem() {
+        assertThat(fire.validate(shop, "read", "--input=-"), is(List.of()));
+        assertThat(fire.validate(shop, "read", "--input=@/no/such/file").get(0).message(),
+                is("Cannot read file /no/such/file for parameter: \"input\". Please register converters for non basic objects"));
+    }
+
+    @Test
+    void validatesBatchesInParallelByLine() throws Exception {
+        final StringBuilder lines = new StringBuilder("# shop commands\n\n");
+        for (int i = 3; i <= 1000; i++) {
+            if (i % 100 == 0) {
+                lines.append("list --limit=").append(i).append(" --category=\"food\n");
+            } else if (i % 7 == 0) {
+                lines.append("lsit ").append(i).append(" food\n");
+            } else {
+                lines.append("list ").append(i).append(" food\n");
+            }
+        }
+        final ByteArrayOutputStream report = new ByteArrayOutputStream();
+        final Batch.Validation validation = new Batch(fire, new PrintStream(report, true))
+                .validate(shop, new BufferedReader(new StringReader(lines.toString())), 4);
+        assertThat(validation.checked(), is(998));
+        int expected = 0;
+        int previous = 0;
+        for (Diagnostic diagnostic : validation.diagnostics()) {
+            assertThat(diagnostic.line() > previous, is(true));
+            assertThat(diagnostic.line() % 100 == 0 || diagnostic.line() % 7 == 0, is(true));
+            previous = diagnostic.line();
+            expected++;
+        }
+        assertThat(expected, is(142 + 10 - 1));
+        assertThat(validation.diagnostics().get(0).toString().startsWith("line 7: Method \"lsit\" is not found."), is(true));
+        assertThat(validation.diagnostics().get(0).toString().endsWith("\nDid you mean \"list\"?"), is(true));
+        assertThat(report.toString().contains("line 100: Unterminated quote in: list --limit=100 --category=\"food"), is(true));
+        assertThat(shop.calls, is(0));
+    }
+
+    @Test
+    void measuresDistanceInEdits() {
+        assertThat(Validator.distance("list", "list", 2), is(0));
+        assertThat(Validator.distance("lsit", "list", 2), is(1));
+        assertThat(Validator.distance("lst", "list", 2), is(1));
+        assertThat(Validator.distance("kitten", "sitting", 3), is(3));
+        assertThat(Validator.distance("a", "abcdef", 2), is(3));
+        assertThat(Validator.closest("Stat", List.of("start", "stop", "status", "list", "stat")), is(List.of("stat", "start", "status")));
+    }
+}